@@ -0,0 +1,89 @@
+package org.reactivecouchbase.json.bench;
+
+import org.reactivecouchbase.json.JsArray;
+import org.reactivecouchbase.json.JsObject;
+import org.reactivecouchbase.json.JsValue;
+import org.reactivecouchbase.json.Json;
+
+import java.util.Random;
+
+import static org.reactivecouchbase.json.Syntax.$;
+
+/**
+ * Synthetic documents generated locally with a fixed seed so runs are comparable.
+ */
+public final class Documents {
+
+    private static final String[] STATUSES = {"ACTIVE", "INACTIVE", "PENDING", "DELETED"};
+    private static final String[] CURRENCIES = {"EUR", "USD", "GBP", "JPY", "CHF"};
+    private static final String[] COUNTRIES = {"FR", "DE", "GB", "US", "JP", "IT", "ES"};
+
+    private Documents() {
+    }
+
+    /**
+     * @param size one of small (one user), medium (100 users) and large (10000 users)
+     */
+    public static JsValue document(String size) {
+        switch (size) {
+            case "small":
+                return user(new Random(42), 0);
+            case "medium":
+                return users(100);
+            case "large":
+                return users(10000);
+            default:
+                throw new IllegalArgumentException("Unknown document size " + size);
+        }
+    }
+
+    public static JsObject users(int count) {
+        Random random = new Random(42);
+        JsArray users = Json.arr();
+        for (int i = 0; i < count; i++) {
+            users = users.addElement(user(random, i));
+        }
+        return Json.obj(
+                $("total", count),
+                $("page", 1),
+                $("results", users)
+        );
+    }
+
+    public static JsObject user(Random random, int id) {
+        return Json.obj(
+                $("id", id),
+                $("uuid", Long.toHexString(random.nextLong())),
+                $("name", "user-" + id),
+                $("email", "user-" + id + "@example.com"),
+                $("status", STATUSES[random.nextInt(STATUSES.length)]),
+                $("age", 18 + random.nextInt(60)),
+                $("score", random.nextInt(100000) / 100.0),
+                $("verified", random.nextBoolean()),
+                $("balance", Json.obj(
+                        $("amount", random.nextInt(1000000) / 100.0),
+                        $("currency", CURRENCIES[random.nextInt(CURRENCIES.length)])
+                )),
+                $("address", Json.obj(
+                        $("street", random.nextInt(200) + " Baker Street"),
+                        $("city", "London"),
+                        $("country", COUNTRIES[random.nextInt(COUNTRIES.length)])
+                )),
+                $("tags", Json.arr("tag-" + random.nextInt(10), "tag-" + random.nextInt(10), "tag-" + random.nextInt(10)))
+        );
+    }
+
+    public static class User {
+        public int id;
+        public String uuid;
+        public String name;
+        public String email;
+        public String status;
+        public int age;
+        public double score;
+        public boolean verified;
+
+        public User() {
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.reactivecouchbase.json.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.reactivecouchbase.json.JsValue;
+import org.reactivecouchbase.json.Json;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EqualityBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public String size;
+
+    private JsValue document;
+    private JsValue copy;
+    private JsValue changed;
+    private JsValue hashedCopy;
+    private JsValue hashedChanged;
+
+    @Setup
+    public void setup() {
+        document = Documents.document(size);
+        String json = Json.stringify(document);
+        // the last city of the document, so a full comparison walks the whole document before finding it
+        int city = json.lastIndexOf("London");
+        String changedJson = json.substring(0, city) + "Paris" + json.substring(city + "London".length());
+        // distinct instances, nothing is shared with the document
+        copy = Json.parse(json);
+        changed = Json.parse(changedJson);
+        hashedCopy = Json.parse(json);
+        hashedChanged = Json.parse(changedJson);
+        document.hashCode();
+        hashedCopy.hashCode();
+        hashedChanged.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalDocuments() {
+        return document.equals(copy);
+    }
+
+    @Benchmark
+    public boolean deepEqualDocuments() {
+        return document.deepEquals(copy);
+    }
+
+    @Benchmark
+    public boolean differentDocuments() {
+        return document.equals(changed);
+    }
+
+    @Benchmark
+    public boolean sameDocument() {
+        return document.equals(document);
+    }
+
+    @Benchmark
+    public boolean equalHashedDocuments() {
+        return document.equals(hashedCopy);
+    }
+
+    @Benchmark
+    public boolean differentHashedDocuments() {
+        return document.equals(hashedChanged);
+    }
+}
@@ -0,0 +1,70 @@
+package org.reactivecouchbase.json.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.reactivecouchbase.json.JsObject;
+import org.reactivecouchbase.json.JsValue;
+import org.reactivecouchbase.json.Json;
+import org.reactivecouchbase.json.mapping.DefaultReaders;
+import org.reactivecouchbase.json.mapping.JsResult;
+import org.reactivecouchbase.json.mapping.Reader;
+import org.reactivecouchbase.json.mapping.Writer;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    private final Reader<Documents.User> reader = Json.reads(Documents.User.class);
+    private final Writer<Documents.User> writer = Json.writes(Documents.User.class);
+
+    private JsObject json;
+    private JsValue age;
+    private JsValue score;
+    private JsValue name;
+    private Documents.User user;
+
+    @Setup
+    public void setup() {
+        json = Documents.user(new Random(42), 1);
+        age = json.field("age");
+        score = json.field("score");
+        name = json.field("name");
+        user = reader.read(json).get();
+    }
+
+    @Benchmark
+    public JsResult<Integer> readInteger() {
+        return DefaultReaders.INTEGER_READER.read(age);
+    }
+
+    @Benchmark
+    public JsResult<Double> readDouble() {
+        return DefaultReaders.DOUBLE_READER.read(score);
+    }
+
+    @Benchmark
+    public JsResult<String> readString() {
+        return DefaultReaders.STRING_READER.read(name);
+    }
+
+    @Benchmark
+    public Integer asInteger() {
+        return json.integer("age");
+    }
+
+    @Benchmark
+    public JsResult<Documents.User> readPojo() {
+        return reader.read(json);
+    }
+
+    @Benchmark
+    public JsValue writePojo() {
+        return writer.write(user);
+    }
+}
@@ -0,0 +1,63 @@
+package org.reactivecouchbase.json.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.reactivecouchbase.json.JsObject;
+import org.reactivecouchbase.json.Json;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.reactivecouchbase.json.Syntax.$;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ObjectBenchmark {
+
+    private JsObject user;
+    private JsObject patch;
+
+    @Setup
+    public void setup() {
+        user = Documents.user(new Random(42), 1);
+        patch = Json.obj(
+                $("status", "INACTIVE"),
+                $("address", Json.obj($("city", "Paris"))),
+                $("updated", true)
+        );
+    }
+
+    @Benchmark
+    public JsObject add() {
+        return user.add($("updated", true));
+    }
+
+    @Benchmark
+    public JsObject buildObject() {
+        return Json.obj(
+                $("id", 1),
+                $("name", "John"),
+                $("surname", "Doe"),
+                $("age", 42),
+                $("verified", true)
+        );
+    }
+
+    @Benchmark
+    public JsObject deepMerge() {
+        return user.deepMerge(patch);
+    }
+
+    @Benchmark
+    public double boxedAccessors() {
+        return user.lng("id") + user.integer("age") + user.dbl("score") + (user.bool("verified") ? 1 : 0);
+    }
+
+    @Benchmark
+    public double primitiveAccessors() {
+        return user.getLong("id") + user.getInt("age", 0) + user.getDouble("score", 0.0) + (user.getBoolean("verified", false) ? 1 : 0);
+    }
+}
@@ -0,0 +1,53 @@
+package org.reactivecouchbase.json.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.reactivecouchbase.json.JsValue;
+import org.reactivecouchbase.json.Json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public String size;
+
+    private String json;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        json = Json.stringify(Documents.document(size));
+        bytes = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public JsValue parseString() {
+        return Json.parse(json);
+    }
+
+    @Benchmark
+    public JsValue parseBytes() {
+        return Json.parse(bytes);
+    }
+
+    @Benchmark
+    public JsValue lazyParseAndReadFields() {
+        JsValue value = Json.lazyParse(bytes);
+        value.field("total");
+        return value.field("id");
+    }
+
+    @Benchmark
+    public byte[] lazyParseAndForward() {
+        JsValue value = Json.lazyParse(bytes);
+        value.field("total");
+        return Json.toBytes(value);
+    }
+}
@@ -0,0 +1,42 @@
+package org.reactivecouchbase.json.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.reactivecouchbase.json.JsPath;
+import org.reactivecouchbase.json.JsValue;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBenchmark {
+
+    private static final String QUERY = "results[42].balance.currency";
+    private static final String MISSING_QUERY = "results[42].unknown[3].field";
+
+    private final JsPath path = JsPath.compile(QUERY);
+    private JsValue document;
+
+    @Setup
+    public void setup() {
+        document = Documents.document("medium");
+    }
+
+    @Benchmark
+    public JsValue querySelector() {
+        return document.querySelector(QUERY);
+    }
+
+    @Benchmark
+    public JsValue querySelectorMissing() {
+        return document.querySelector(MISSING_QUERY);
+    }
+
+    @Benchmark
+    public JsValue compiledPath() {
+        return document.querySelector(path);
+    }
+}
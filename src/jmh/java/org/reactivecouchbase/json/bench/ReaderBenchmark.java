@@ -0,0 +1,94 @@
+package org.reactivecouchbase.json.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.reactivecouchbase.json.JsObject;
+import org.reactivecouchbase.json.JsValue;
+import org.reactivecouchbase.json.Json;
+import org.reactivecouchbase.json.exceptions.JsonConstraintError;
+import org.reactivecouchbase.json.mapping.DefaultReaders;
+import org.reactivecouchbase.json.mapping.JsError;
+import org.reactivecouchbase.json.mapping.JsResult;
+import org.reactivecouchbase.json.mapping.JsSuccess;
+import org.reactivecouchbase.json.mapping.Reader;
+import org.reactivecouchbase.json.mapping.ReaderConstraints;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.reactivecouchbase.json.Syntax.$;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReaderBenchmark {
+
+    @Param({"5", "10", "20"})
+    public int length;
+
+    // one alternative per payload type, like the readers of a polymorphic payload
+    private Reader<String> alternatives;
+    // every constraint succeeds, so every reader of the chain is read
+    private Reader<Long> constraints;
+    // each reader reads the child of the value, down to the name of the leaf
+    private Reader<String> composed;
+
+    private JsValue firstType;
+    private JsValue lastType;
+    private JsValue unknownType;
+    private JsValue number;
+    private JsValue nested;
+
+    @Setup
+    public void setup() {
+        alternatives = type(0);
+        constraints = ReaderConstraints.between(0L, 1000L);
+        composed = DefaultReaders.STRING_READER.compose(value -> new JsSuccess<>(value.field("name")));
+        JsObject leaf = Json.obj($("name", "leaf"));
+        for (int i = 1; i < length; i++) {
+            alternatives = alternatives.orElse(type(i));
+            constraints = constraints.and(ReaderConstraints.between(0L, 1000L + i));
+            composed = composed.compose(value -> new JsSuccess<>(value.field("child")));
+            leaf = Json.obj($("child", leaf));
+        }
+        firstType = Json.obj($("type", "type-0"), $("value", 42));
+        lastType = Json.obj($("type", "type-" + (length - 1)), $("value", 42));
+        unknownType = Json.obj($("type", "unknown"), $("value", 42));
+        number = Json.parse("42");
+        nested = leaf;
+    }
+
+    private static Reader<String> type(int index) {
+        String type = "type-" + index;
+        JsSuccess<String> success = new JsSuccess<>(type);
+        // the error is shared so that the benchmark measures the combinators, not the errors
+        JsError<String> error = new JsError<>(new JsonConstraintError("is not '" + type + "'", "type"));
+        return value -> type.equals(value.getString("type", null)) ? success : error;
+    }
+
+    @Benchmark
+    public JsResult<String> orElseFirstMatches() {
+        return alternatives.read(firstType);
+    }
+
+    @Benchmark
+    public JsResult<String> orElseLastMatches() {
+        return alternatives.read(lastType);
+    }
+
+    @Benchmark
+    public JsResult<String> orElseNoMatch() {
+        return alternatives.read(unknownType);
+    }
+
+    @Benchmark
+    public JsResult<Long> and() {
+        return constraints.read(number);
+    }
+
+    @Benchmark
+    public JsResult<String> compose() {
+        return composed.read(nested);
+    }
+}
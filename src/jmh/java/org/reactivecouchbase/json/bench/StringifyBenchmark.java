@@ -0,0 +1,41 @@
+package org.reactivecouchbase.json.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.reactivecouchbase.json.JsValue;
+import org.reactivecouchbase.json.Json;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StringifyBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public String size;
+
+    private JsValue document;
+
+    @Setup
+    public void setup() {
+        document = Documents.document(size);
+    }
+
+    @Benchmark
+    public String stringify() {
+        return Json.stringify(document);
+    }
+
+    @Benchmark
+    public String prettyPrint() {
+        return Json.prettyPrint(document);
+    }
+
+    @Benchmark
+    public byte[] toBytes() {
+        return Json.toBytes(document);
+    }
+}
@@ -0,0 +1,741 @@
+package org.reactivecouchbase.json;
+
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
+import io.vavr.collection.Array;
+import io.vavr.collection.Iterator;
+import io.vavr.collection.LinkedHashMap;
+import io.vavr.collection.LinkedHashSet;
+import io.vavr.collection.Map;
+import io.vavr.collection.Seq;
+import io.vavr.collection.Set;
+import io.vavr.control.Option;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * The fields of a small {@link JsObject}, stored as two parallel arrays in insertion order.
+ *
+ * Lookups are a linear scan, which beats hashing for the few fields of a typical document.
+ * Maps growing over {@link #MAX_SIZE} fields are promoted to a {@link LinkedHashMap}, so the
+ * field order is kept whatever the size. Operations that are not implemented here are
+ * delegated to the promoted map. Equality and hash code are the same as the other vavr maps.
+ *
+ * The values of a map indexed by {@link LazyJson} are parsed from the raw json on first access,
+ * such maps are never promoted as they are not built field by field. Lookups in large lazy maps
+ * use the positions of the keys computed while indexing instead of a linear scan.
+ */
+final class ArrayMap implements Map<String, JsValue>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    static final int MAX_SIZE = 16;
+
+    private static final ArrayMap EMPTY = new ArrayMap(new String[0], new JsValue[0]);
+
+    private final String[] keys;
+    // a null value has not been parsed from the slices yet
+    private final JsValue[] values;
+    private final LazyJson.Slices slices;
+    // the index of every key of a large lazy map, null otherwise
+    private final java.util.Map<String, Integer> positions;
+
+    private ArrayMap(String[] keys, JsValue[] values) {
+        this(keys, values, null, null);
+    }
+
+    private ArrayMap(String[] keys, JsValue[] values, LazyJson.Slices slices, java.util.Map<String, Integer> positions) {
+        this.keys = keys;
+        this.values = values;
+        this.slices = slices;
+        this.positions = positions;
+    }
+
+    static ArrayMap empty() {
+        return EMPTY;
+    }
+
+    static ArrayMap of(String key, JsValue value) {
+        return new ArrayMap(new String[] { key }, new JsValue[] { value });
+    }
+
+    /**
+     * @return a map of the first {@code size} keys and values, owning the arrays. The last value wins for duplicated keys.
+     */
+    static Map<String, JsValue> of(String[] keys, JsValue[] values, int size) {
+        if (size > MAX_SIZE) {
+            // deduplicating with linear scans would be quadratic
+            LinkedHashMap<String, JsValue> map = LinkedHashMap.empty();
+            for (int i = 0; i < size; i++) {
+                map = map.put(keys[i], values[i]);
+            }
+            if (map.size() > MAX_SIZE) {
+                return map;
+            }
+            size = 0;
+            for (Tuple2<String, JsValue> entry : map) {
+                keys[size] = entry._1;
+                values[size] = entry._2;
+                size++;
+            }
+        }
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            String key = keys[i];
+            int existing = indexOf(keys, distinct, key);
+            if (existing >= 0) {
+                values[existing] = values[i];
+            } else {
+                keys[distinct] = key;
+                values[distinct] = values[i];
+                distinct++;
+            }
+        }
+        if (distinct == 0) {
+            return EMPTY;
+        }
+        if (distinct < keys.length) {
+            keys = Arrays.copyOf(keys, distinct);
+        }
+        if (distinct < values.length) {
+            values = Arrays.copyOf(values, distinct);
+        }
+        return new ArrayMap(keys, values);
+    }
+
+    /**
+     * @return a map whose values are parsed from the slices on first access, whatever the number of keys.
+     *         positions is the index of every key, or null for a map small enough to be scanned.
+     */
+    static ArrayMap lazy(String[] keys, LazyJson.Slices slices, java.util.Map<String, Integer> positions) {
+        if (keys.length == 0) {
+            return EMPTY;
+        }
+        return new ArrayMap(keys, new JsValue[keys.length], slices, positions);
+    }
+
+    static Map<String, JsValue> ofEntries(Iterable<? extends Tuple2<String, JsValue>> entries) {
+        String[] keys = new String[8];
+        JsValue[] values = new JsValue[8];
+        int size = 0;
+        for (Tuple2<String, JsValue> entry : entries) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            keys[size] = entry._1;
+            values[size] = entry._2;
+            size++;
+        }
+        return of(keys, values, size);
+    }
+
+    private static int indexOf(String[] keys, int size, Object key) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        if (key == null) {
+            return -1;
+        }
+        for (int i = 0; i < size; i++) {
+            if (key.equals(keys[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int indexOf(Object key) {
+        if (positions != null) {
+            Integer position = positions.get(key);
+            return position == null ? -1 : position;
+        }
+        return indexOf(keys, keys.length, key);
+    }
+
+    /**
+     * @return the index of the key, looking at the expected index first
+     */
+    int indexOf(String key, int expected) {
+        if (expected < keys.length && key.equals(keys[expected])) {
+            return expected;
+        }
+        return indexOf(key);
+    }
+
+    String keyAt(int index) {
+        return keys[index];
+    }
+
+    JsValue valueAt(int index) {
+        JsValue value = values[index];
+        if (value == null) {
+            // racy but harmless, every thread parses an equal immutable value
+            value = slices.valueAt(index);
+            values[index] = value;
+        }
+        return value;
+    }
+
+    private JsValue[] materialized() {
+        if (slices != null) {
+            for (int i = 0; i < values.length; i++) {
+                valueAt(i);
+            }
+        }
+        return values;
+    }
+
+    // the slices keep the whole raw document, a lazy map is serialized with its values parsed
+    private Object writeReplace() {
+        if (slices == null) {
+            return this;
+        }
+        return keys.length > MAX_SIZE ? promote() : new ArrayMap(keys, materialized());
+    }
+
+    private LinkedHashMap<String, JsValue> promote() {
+        LinkedHashMap<String, JsValue> map = LinkedHashMap.empty();
+        for (int i = 0; i < keys.length; i++) {
+            map = map.put(keys[i], valueAt(i));
+        }
+        return map;
+    }
+
+    private Map<String, JsValue> append(String key, JsValue value) {
+        int size = keys.length;
+        if (size >= MAX_SIZE) {
+            return promote().put(key, value);
+        }
+        String[] newKeys = Arrays.copyOf(keys, size + 1);
+        JsValue[] newValues = Arrays.copyOf(materialized(), size + 1);
+        newKeys[size] = key;
+        newValues[size] = value;
+        return new ArrayMap(newKeys, newValues);
+    }
+
+    private ArrayMap replaceAt(int index, JsValue value) {
+        if (valueAt(index) == value) {
+            return this;
+        }
+        JsValue[] newValues = materialized().clone();
+        newValues[index] = value;
+        return new ArrayMap(keys, newValues);
+    }
+
+    private <U extends JsValue> Map<String, JsValue> mergeWith(Map<? extends String, U> that,
+                                                               BiFunction<? super JsValue, ? super U, ? extends JsValue> collisionResolution) {
+        if (that.isEmpty()) {
+            return this;
+        }
+        int size = keys.length;
+        String[] newKeys = Arrays.copyOf(keys, size + that.size());
+        JsValue[] newValues = Arrays.copyOf(materialized(), size + that.size());
+        int newSize = size;
+        for (Tuple2<? extends String, U> entry : that) {
+            int index = indexOf(keys, size, entry._1);
+            if (index < 0) {
+                newKeys[newSize] = entry._1;
+                newValues[newSize] = entry._2;
+                newSize++;
+            } else {
+                newValues[index] = collisionResolution.apply(newValues[index], entry._2);
+            }
+        }
+        return of(newKeys, newValues, newSize);
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Option<JsValue> get(String key) {
+        int index = indexOf(key);
+        return index < 0 ? Option.none() : Option.some(valueAt(index));
+    }
+
+    @Override
+    public JsValue getOrElse(String key, JsValue defaultValue) {
+        int index = indexOf(key);
+        return index < 0 ? defaultValue : valueAt(index);
+    }
+
+    @Override
+    public Map<String, JsValue> put(String key, JsValue value) {
+        int index = indexOf(key);
+        return index < 0 ? append(key, value) : replaceAt(index, value);
+    }
+
+    @Override
+    public Map<String, JsValue> put(Tuple2<? extends String, ? extends JsValue> entry) {
+        return put(entry._1, entry._2);
+    }
+
+    @Override
+    public <U extends JsValue> Map<String, JsValue> put(String key, U value, BiFunction<? super JsValue, ? super U, ? extends JsValue> merge) {
+        int index = indexOf(key);
+        return index < 0 ? append(key, value) : replaceAt(index, merge.apply(valueAt(index), value));
+    }
+
+    @Override
+    public <U extends JsValue> Map<String, JsValue> put(Tuple2<? extends String, U> entry, BiFunction<? super JsValue, ? super U, ? extends JsValue> merge) {
+        return put(entry._1, entry._2, merge);
+    }
+
+    @Override
+    public Map<String, JsValue> remove(String key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return this;
+        }
+        int size = keys.length;
+        if (size == 1) {
+            return EMPTY;
+        }
+        String[] newKeys = new String[size - 1];
+        JsValue[] newValues = new JsValue[size - 1];
+        System.arraycopy(keys, 0, newKeys, 0, index);
+        System.arraycopy(materialized(), 0, newValues, 0, index);
+        System.arraycopy(keys, index + 1, newKeys, index, size - index - 1);
+        System.arraycopy(materialized(), index + 1, newValues, index, size - index - 1);
+        return new ArrayMap(newKeys, newValues);
+    }
+
+    @Override
+    public Map<String, JsValue> merge(Map<? extends String, ? extends JsValue> that) {
+        // the values of this map are kept on collisions
+        return mergeWith(that, (mine, theirs) -> mine);
+    }
+
+    @Override
+    public <U extends JsValue> Map<String, JsValue> merge(Map<? extends String, U> that, BiFunction<? super JsValue, ? super U, ? extends JsValue> collisionResolution) {
+        return mergeWith(that, collisionResolution);
+    }
+
+    @Override
+    public <V2> Map<String, V2> mapValues(Function<? super JsValue, ? extends V2> valueMapper) {
+        LinkedHashMap<String, V2> map = LinkedHashMap.empty();
+        for (int i = 0; i < keys.length; i++) {
+            map = map.put(keys[i], valueMapper.apply(valueAt(i)));
+        }
+        return map;
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return LinkedHashSet.of(keys);
+    }
+
+    @Override
+    public Seq<JsValue> values() {
+        return Array.of(materialized());
+    }
+
+    @Override
+    public java.util.Map<String, JsValue> toJavaMap() {
+        java.util.Map<String, JsValue> map = new java.util.LinkedHashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], valueAt(i));
+        }
+        return map;
+    }
+
+    @Override
+    public Iterator<Tuple2<String, JsValue>> iterator() {
+        return new Iterator<Tuple2<String, JsValue>>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < keys.length;
+            }
+
+            @Override
+            public Tuple2<String, JsValue> next() {
+                if (index >= keys.length) {
+                    throw new NoSuchElementException();
+                }
+                Tuple2<String, JsValue> entry = Tuple.of(keys[index], valueAt(index));
+                index++;
+                return entry;
+            }
+        };
+    }
+
+    @Override
+    public void forEach(Consumer<? super Tuple2<String, JsValue>> action) {
+        for (int i = 0; i < keys.length; i++) {
+            action.accept(Tuple.of(keys[i], valueAt(i)));
+        }
+    }
+
+    @Override
+    public void forEach(BiConsumer<String, JsValue> action) {
+        for (int i = 0; i < keys.length; i++) {
+            action.accept(keys[i], valueAt(i));
+        }
+    }
+
+    @Override
+    public Tuple2<String, JsValue> head() {
+        if (keys.length == 0) {
+            throw new NoSuchElementException("head of empty map");
+        }
+        return Tuple.of(keys[0], valueAt(0));
+    }
+
+    @Override
+    public Tuple2<String, JsValue> last() {
+        if (keys.length == 0) {
+            throw new NoSuchElementException("last of empty map");
+        }
+        return Tuple.of(keys[keys.length - 1], valueAt(keys.length - 1));
+    }
+
+    @Override
+    public boolean isAsync() {
+        return false;
+    }
+
+    @Override
+    public boolean isLazy() {
+        return false;
+    }
+
+    @Override
+    public String stringPrefix() {
+        return "LinkedHashMap";
+    }
+
+    // operations below are rare on json objects and are delegated to the promoted map
+
+    @Override
+    public <K2, V2> Map<K2, V2> bimap(Function<? super String, ? extends K2> keyMapper, Function<? super JsValue, ? extends V2> valueMapper) {
+        return promote().bimap(keyMapper, valueMapper);
+    }
+
+    @Override
+    public Tuple2<JsValue, ? extends Map<String, JsValue>> computeIfAbsent(String key, Function<? super String, ? extends JsValue> mapper) {
+        return promote().computeIfAbsent(key, mapper);
+    }
+
+    @Override
+    public Tuple2<Option<JsValue>, ? extends Map<String, JsValue>> computeIfPresent(String key, BiFunction<? super String, ? super JsValue, ? extends JsValue> mapper) {
+        return promote().computeIfPresent(key, mapper);
+    }
+
+    @Override
+    public Map<String, JsValue> distinctBy(Comparator<? super Tuple2<String, JsValue>> comparator) {
+        return promote().distinctBy(comparator);
+    }
+
+    @Override
+    public <U> Map<String, JsValue> distinctBy(Function<? super Tuple2<String, JsValue>, ? extends U> mapper) {
+        return promote().distinctBy(mapper);
+    }
+
+    @Override
+    public Map<String, JsValue> distinct() {
+        return promote().distinct();
+    }
+
+    @Override
+    public Map<String, JsValue> dropRight(int n) {
+        return promote().dropRight(n);
+    }
+
+    @Override
+    public Map<String, JsValue> dropUntil(Predicate<? super Tuple2<String, JsValue>> predicate) {
+        return promote().dropUntil(predicate);
+    }
+
+    @Override
+    public Map<String, JsValue> dropWhile(Predicate<? super Tuple2<String, JsValue>> predicate) {
+        return promote().dropWhile(predicate);
+    }
+
+    @Override
+    public Map<String, JsValue> drop(int n) {
+        return promote().drop(n);
+    }
+
+    @Override
+    public Map<String, JsValue> filterKeys(Predicate<? super String> predicate) {
+        return promote().filterKeys(predicate);
+    }
+
+    @Override
+    public Map<String, JsValue> filterValues(Predicate<? super JsValue> predicate) {
+        return promote().filterValues(predicate);
+    }
+
+    @Override
+    public Map<String, JsValue> filter(BiPredicate<? super String, ? super JsValue> predicate) {
+        return promote().filter(predicate);
+    }
+
+    @Override
+    public Map<String, JsValue> filter(Predicate<? super Tuple2<String, JsValue>> predicate) {
+        return promote().filter(predicate);
+    }
+
+    @Override
+    public <K2, V2> Map<K2, V2> flatMap(BiFunction<? super String, ? super JsValue, ? extends Iterable<Tuple2<K2, V2>>> mapper) {
+        return promote().flatMap(mapper);
+    }
+
+    @Override
+    public <C> Map<C, ? extends Map<String, JsValue>> groupBy(Function<? super Tuple2<String, JsValue>, ? extends C> classifier) {
+        return promote().groupBy(classifier);
+    }
+
+    @Override
+    public Iterator<? extends Map<String, JsValue>> grouped(int n) {
+        return promote().grouped(n);
+    }
+
+    @Override
+    public Option<? extends Map<String, JsValue>> initOption() {
+        return promote().initOption();
+    }
+
+    @Override
+    public Map<String, JsValue> init() {
+        return promote().init();
+    }
+
+    @Override
+    public <K2> Map<K2, JsValue> mapKeys(Function<? super String, ? extends K2> keyMapper, BiFunction<? super JsValue, ? super JsValue, ? extends JsValue> collisionResolution) {
+        return promote().mapKeys(keyMapper, collisionResolution);
+    }
+
+    @Override
+    public <K2> Map<K2, JsValue> mapKeys(Function<? super String, ? extends K2> keyMapper) {
+        return promote().mapKeys(keyMapper);
+    }
+
+    @Override
+    public <K2, V2> Map<K2, V2> map(BiFunction<? super String, ? super JsValue, Tuple2<K2, V2>> mapper) {
+        return promote().map(mapper);
+    }
+
+    @Override
+    public Map<String, JsValue> orElse(Iterable<? extends Tuple2<String, JsValue>> elements) {
+        return promote().orElse(elements);
+    }
+
+    @Override
+    public Map<String, JsValue> orElse(Supplier<? extends Iterable<? extends Tuple2<String, JsValue>>> supplier) {
+        return promote().orElse(supplier);
+    }
+
+    @Override
+    public Tuple2<? extends Map<String, JsValue>, ? extends Map<String, JsValue>> partition(Predicate<? super Tuple2<String, JsValue>> predicate) {
+        return promote().partition(predicate);
+    }
+
+    @Override
+    public Map<String, JsValue> peek(Consumer<? super Tuple2<String, JsValue>> action) {
+        return promote().peek(action);
+    }
+
+    @Override
+    public Map<String, JsValue> rejectKeys(Predicate<? super String> predicate) {
+        return promote().rejectKeys(predicate);
+    }
+
+    @Override
+    public Map<String, JsValue> rejectValues(Predicate<? super JsValue> predicate) {
+        return promote().rejectValues(predicate);
+    }
+
+    @Override
+    public Map<String, JsValue> reject(BiPredicate<? super String, ? super JsValue> predicate) {
+        return promote().reject(predicate);
+    }
+
+    @Override
+    public Map<String, JsValue> reject(Predicate<? super Tuple2<String, JsValue>> predicate) {
+        return promote().reject(predicate);
+    }
+
+    @Override
+    public Map<String, JsValue> removeAll(Iterable<? extends String> keys) {
+        return promote().removeAll(keys);
+    }
+
+    @Deprecated
+    @Override
+    public Map<String, JsValue> removeAll(BiPredicate<? super String, ? super JsValue> predicate) {
+        return promote().removeAll(predicate);
+    }
+
+    @Deprecated
+    @Override
+    public Map<String, JsValue> removeKeys(Predicate<? super String> predicate) {
+        return promote().removeKeys(predicate);
+    }
+
+    @Deprecated
+    @Override
+    public Map<String, JsValue> removeValues(Predicate<? super JsValue> predicate) {
+        return promote().removeValues(predicate);
+    }
+
+    @Override
+    public Map<String, JsValue> replaceAll(Tuple2<String, JsValue> currentElement, Tuple2<String, JsValue> newElement) {
+        return promote().replaceAll(currentElement, newElement);
+    }
+
+    @Override
+    public Map<String, JsValue> replaceAll(BiFunction<? super String, ? super JsValue, ? extends JsValue> mapper) {
+        return promote().replaceAll(mapper);
+    }
+
+    @Override
+    public Map<String, JsValue> replaceValue(String key, JsValue value) {
+        return promote().replaceValue(key, value);
+    }
+
+    @Override
+    public Map<String, JsValue> replace(Tuple2<String, JsValue> currentElement, Tuple2<String, JsValue> newElement) {
+        return promote().replace(currentElement, newElement);
+    }
+
+    @Override
+    public Map<String, JsValue> replace(String key, JsValue oldValue, JsValue newValue) {
+        return promote().replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public Map<String, JsValue> retainAll(Iterable<? extends Tuple2<String, JsValue>> elements) {
+        return promote().retainAll(elements);
+    }
+
+    @Override
+    public Map<String, JsValue> scan(Tuple2<String, JsValue> zero, BiFunction<? super Tuple2<String, JsValue>, ? super Tuple2<String, JsValue>, ? extends Tuple2<String, JsValue>> operation) {
+        return promote().scan(zero, operation);
+    }
+
+    @Override
+    public Iterator<? extends Map<String, JsValue>> slideBy(Function<? super Tuple2<String, JsValue>, ?> mapper) {
+        return promote().slideBy(mapper);
+    }
+
+    @Override
+    public Iterator<? extends Map<String, JsValue>> sliding(int size, int step) {
+        return promote().sliding(size, step);
+    }
+
+    @Override
+    public Iterator<? extends Map<String, JsValue>> sliding(int size) {
+        return promote().sliding(size);
+    }
+
+    @Override
+    public Tuple2<? extends Map<String, JsValue>, ? extends Map<String, JsValue>> span(Predicate<? super Tuple2<String, JsValue>> predicate) {
+        return promote().span(predicate);
+    }
+
+    @Override
+    public Option<? extends Map<String, JsValue>> tailOption() {
+        return promote().tailOption();
+    }
+
+    @Override
+    public Map<String, JsValue> tail() {
+        return promote().tail();
+    }
+
+    @Override
+    public Map<String, JsValue> takeRight(int n) {
+        return promote().takeRight(n);
+    }
+
+    @Override
+    public Map<String, JsValue> takeUntil(Predicate<? super Tuple2<String, JsValue>> predicate) {
+        return promote().takeUntil(predicate);
+    }
+
+    @Override
+    public Map<String, JsValue> takeWhile(Predicate<? super Tuple2<String, JsValue>> predicate) {
+        return promote().takeWhile(predicate);
+    }
+
+    @Override
+    public Map<String, JsValue> take(int n) {
+        return promote().take(n);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Map)) {
+            return false;
+        }
+        Map<?, ?> that = (Map<?, ?>) o;
+        if (that.size() != keys.length) {
+            return false;
+        }
+        if (that instanceof ArrayMap) {
+            ArrayMap other = (ArrayMap) that;
+            for (int i = 0; i < keys.length; i++) {
+                int index = other.indexOf(keys[i]);
+                if (index < 0 || !Objects.equals(valueAt(i), other.valueAt(index))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return that.equals(this);
+    }
+
+    @Override
+    public int hashCode() {
+        // same as Collections.hashUnordered of vavr, so equal maps have equal hash codes
+        int hash = 1;
+        for (int i = 0; i < keys.length; i++) {
+            hash += Objects.hash(keys[i], valueAt(i));
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder(stringPrefix()).append('(');
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            out.append('(').append(keys[i]).append(", ").append(valueAt(i)).append(')');
+        }
+        return out.append(')').toString();
+    }
+}
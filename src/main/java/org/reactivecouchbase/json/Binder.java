@@ -0,0 +1,402 @@
+package org.reactivecouchbase.json;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.AnnotatedField;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import io.vavr.Tuple2;
+import io.vavr.collection.Array;
+import org.reactivecouchbase.json.mapping.JsError;
+import org.reactivecouchbase.json.mapping.JsResult;
+import org.reactivecouchbase.json.mapping.JsSuccess;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Reads and writes plain java beans directly from and to {@link JsObject}, without going through a Jackson tree.
+ *
+ * A class is inspected once : the properties found by Jackson are bound with method handles, so names, order and
+ * accessors are the same. Only the simple cases are bound : classes with a no args constructor, without Jackson
+ * annotations, whose properties are of primitive, boxed, String or JsValue types. Everything else, and any value that
+ * would need a Jackson coercion (a string read as an int, a float read as a long, ...), goes through Jackson as before,
+ * so the results are the same.
+ */
+final class Binder<T> {
+
+    private static final ClassValue<Binder<?>> BINDERS = new ClassValue<Binder<?>>() {
+        @Override
+        protected Binder<?> computeValue(Class<?> clazz) {
+            return inspect(clazz);
+        }
+    };
+
+    // returned by conversions when the value must be handled by Jackson
+    private static final Object UNBOUND = new Object();
+
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR = MethodType.methodType(Object.class);
+
+    private final MethodHandle constructor;
+    private final Property[] written;
+    private final java.util.Map<String, Property> read;
+
+    private Binder(MethodHandle constructor, Property[] written, java.util.Map<String, Property> read) {
+        this.constructor = constructor;
+        this.written = written;
+        this.read = read;
+    }
+
+    /**
+     * @return the binder of the class or null if the class must be handled by Jackson
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Binder<T> of(Class<T> clazz) {
+        // a custom mapper may have its own naming, visibility or coercion rules
+        if (!Jackson.usesDefaultMapper()) {
+            return null;
+        }
+        return (Binder<T>) BINDERS.get(clazz);
+    }
+
+    static <T> JsResult<T> read(Class<T> clazz, JsValue value) {
+        Binder<T> binder = of(clazz);
+        if (binder != null && value instanceof JsObject) {
+            try {
+                T bean = binder.readBean((JsObject) value);
+                if (bean != null) {
+                    return new JsSuccess<>(bean);
+                }
+            } catch (Throwable e) {
+                return new JsError<>(Array.of(e));
+            }
+        }
+        try {
+            return new JsSuccess<>(Jackson.fromJson(Jackson.jsValueToJsonNode(value), clazz));
+        } catch (Exception e) {
+            return new JsError<>(Array.of(e));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static JsValue write(Object value) {
+        if (value != null) {
+            Binder<Object> binder = (Binder<Object>) of(value.getClass());
+            if (binder != null) {
+                JsObject object = binder.writeBean(value);
+                if (object != null) {
+                    return object;
+                }
+            }
+        }
+        return Jackson.jsonNodeToJsValue(Jackson.toJson(value));
+    }
+
+    /**
+     * @return the bean or null if a value must be converted by Jackson
+     */
+    @SuppressWarnings("unchecked")
+    private T readBean(JsObject object) throws Throwable {
+        T bean = (T) (Object) constructor.invokeExact();
+        for (Tuple2<String, JsValue> field : object) {
+            Property property = read.get(field._1);
+            if (property != null) {
+                Object converted = property.read(field._2);
+                if (converted == UNBOUND) {
+                    return null;
+                }
+                property.setter.invokeExact((Object) bean, converted);
+            }
+        }
+        return bean;
+    }
+
+    /**
+     * @return the object or null if a value must be converted by Jackson
+     */
+    private JsObject writeBean(T bean) {
+        JsObject.Builder object = JsObject.builder(written.length);
+        for (Property property : written) {
+            JsValue value;
+            try {
+                value = property.write((Object) property.getter.invokeExact((Object) bean));
+            } catch (Throwable e) {
+                return null;
+            }
+            if (value == null) {
+                return null;
+            }
+            object.put(property.name, value);
+        }
+        return object.build();
+    }
+
+    private enum Kind {
+        INT, LONG, SHORT, DOUBLE, FLOAT, BOOLEAN, STRING, JSON
+    }
+
+    private static final class Property {
+        private final String name;
+        private final Class<?> type;
+        private final Kind kind;
+        private MethodHandle getter;
+        private MethodHandle setter;
+
+        private Property(String name, Class<?> type, Kind kind) {
+            this.name = name;
+            this.type = type;
+            this.kind = kind;
+        }
+
+        private Object read(JsValue value) {
+            if (value instanceof JsNull && kind != Kind.JSON) {
+                return type.isPrimitive() ? UNBOUND : null;
+            }
+            switch (kind) {
+                case INT:
+                case LONG:
+                case SHORT:
+                    if (value instanceof JsNumber && ((JsNumber) value).isLong()) {
+                        long number = ((JsNumber) value).longValue();
+                        if (kind == Kind.LONG) {
+                            return number;
+                        }
+                        if (kind == Kind.INT && number == (int) number) {
+                            return (int) number;
+                        }
+                        if (kind == Kind.SHORT && number == (short) number) {
+                            return (short) number;
+                        }
+                    }
+                    return UNBOUND;
+                case DOUBLE:
+                    return value instanceof JsNumber ? ((JsNumber) value).doubleValue() : UNBOUND;
+                case FLOAT:
+                    return value instanceof JsNumber ? (float) ((JsNumber) value).doubleValue() : UNBOUND;
+                case BOOLEAN:
+                    return value instanceof JsBoolean ? ((JsBoolean) value).value : UNBOUND;
+                case STRING:
+                    return value instanceof JsString ? ((JsString) value).value : UNBOUND;
+                default:
+                    return type.isInstance(value) ? value : UNBOUND;
+            }
+        }
+
+        /**
+         * @return the json value or null if the value must be converted by Jackson
+         */
+        private JsValue write(Object value) {
+            if (value == null) {
+                return JsNull.JSNULL_INSTANCE;
+            }
+            switch (kind) {
+                case INT:
+                case LONG:
+                case SHORT:
+                    return JsNumber.valueOf(((Number) value).longValue());
+                case DOUBLE:
+                case FLOAT:
+                    double number = ((Number) value).doubleValue();
+                    return Double.isNaN(number) || Double.isInfinite(number) ? null : new JsNumber(number);
+                case BOOLEAN:
+                    return JsBoolean.apply((Boolean) value);
+                case STRING:
+                    return JsString.apply((String) value);
+                default:
+                    return value instanceof JsUndefined ? null : (JsValue) value;
+            }
+        }
+    }
+
+    /**
+     * @return the binder of the class or null if it must be handled by Jackson
+     */
+    private static <T> Binder<T> inspect(Class<T> clazz) {
+        if (!bindable(clazz)) {
+            return null;
+        }
+        try {
+            Constructor<T> noArgs = clazz.getDeclaredConstructor();
+            // the properties are the ones Jackson found, with the same names, order and accessors
+            ObjectMapper mapper = Jackson.mapper();
+            JavaType type = mapper.constructType(clazz);
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            java.util.Map<String, Property> properties = new HashMap<>();
+            List<Property> written = new ArrayList<>();
+            for (BeanPropertyDefinition definition : mapper.getSerializationConfig().introspect(type).findProperties()) {
+                AnnotatedMember accessor = definition.getAccessor();
+                if (accessor == null) {
+                    continue;
+                }
+                Property property = property(properties, definition.getName(), accessor.getRawType());
+                if (property == null) {
+                    return null;
+                }
+                property.getter = getter(lookup, accessor.getMember());
+                written.add(property);
+            }
+            java.util.Map<String, Property> read = new HashMap<>();
+            for (BeanPropertyDefinition definition : mapper.getDeserializationConfig().introspect(type).findProperties()) {
+                AnnotatedMember mutator = definition.getMutator();
+                if (mutator == null) {
+                    continue;
+                }
+                if (!(mutator instanceof AnnotatedField) && !(mutator instanceof AnnotatedMethod)) {
+                    // creator parameters
+                    return null;
+                }
+                Class<?> mutatorType = mutator instanceof AnnotatedMethod
+                        ? ((AnnotatedMethod) mutator).getRawParameterType(0)
+                        : mutator.getRawType();
+                Property property = property(properties, definition.getName(), mutatorType);
+                if (property == null) {
+                    return null;
+                }
+                property.setter = setter(lookup, mutator.getMember());
+                read.put(property.name, property);
+            }
+            if (properties.isEmpty()) {
+                return null;
+            }
+            // like Jackson, non public members are used too
+            noArgs.setAccessible(true);
+            MethodHandle constructor = lookup.unreflectConstructor(noArgs).asType(CONSTRUCTOR);
+            return new Binder<>(constructor, written.toArray(new Property[0]), read);
+        } catch (NoSuchMethodException | IllegalAccessException | SecurityException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle getter(MethodHandles.Lookup lookup, Member member) throws IllegalAccessException {
+        ((AccessibleObject) member).setAccessible(true);
+        if (member instanceof Field) {
+            return lookup.unreflectGetter((Field) member).asType(GETTER);
+        }
+        return lookup.unreflect((Method) member).asType(GETTER);
+    }
+
+    private static MethodHandle setter(MethodHandles.Lookup lookup, Member member) throws IllegalAccessException {
+        ((AccessibleObject) member).setAccessible(true);
+        if (member instanceof Field) {
+            return lookup.unreflectSetter((Field) member).asType(SETTER);
+        }
+        return lookup.unreflect((Method) member).asType(SETTER);
+    }
+
+    private static boolean bindable(Class<?> clazz) {
+        int modifiers = clazz.getModifiers();
+        if (Modifier.isAbstract(modifiers) || clazz.isInterface() || clazz.isArray() || clazz.isEnum()
+                || clazz.isPrimitive() || clazz.isAnonymousClass() || clazz.isLocalClass()
+                || (clazz.isMemberClass() && !Modifier.isStatic(modifiers))) {
+            return false;
+        }
+        // Jackson has dedicated serializers for these
+        String name = clazz.getName();
+        if (name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("io.vavr.")
+                || name.startsWith("com.fasterxml.") || JsValue.class.isAssignableFrom(clazz)
+                || Iterable.class.isAssignableFrom(clazz) || java.util.Map.class.isAssignableFrom(clazz)
+                || Number.class.isAssignableFrom(clazz) || CharSequence.class.isAssignableFrom(clazz)
+                || Throwable.class.isAssignableFrom(clazz) || java.util.Date.class.isAssignableFrom(clazz)
+                || java.util.Calendar.class.isAssignableFrom(clazz)) {
+            return false;
+        }
+        for (Class<?> c = clazz; c != Object.class; c = c.getSuperclass()) {
+            if (c.getTypeParameters().length > 0 || annotated(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // annotations change the way Jackson reads or writes a class, like any setter, creator or json value
+    private static boolean annotated(Class<?> clazz) {
+        if (annotated(clazz.getDeclaredAnnotations())) {
+            return true;
+        }
+        List<AnnotatedElement> members = new ArrayList<>();
+        members.addAll(Arrays.asList(clazz.getDeclaredFields()));
+        members.addAll(Arrays.asList(clazz.getDeclaredMethods()));
+        members.addAll(Arrays.asList(clazz.getDeclaredConstructors()));
+        for (AnnotatedElement member : members) {
+            if (annotated(member.getDeclaredAnnotations())) {
+                return true;
+            }
+        }
+        for (Class<?> parent : clazz.getInterfaces()) {
+            if (annotated(parent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean annotated(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation.annotationType().getName().startsWith("com.fasterxml.jackson.")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the property, or null if its type is not bound or does not match the type of the other accessors
+     */
+    private static Property property(java.util.Map<String, Property> properties, String name, Class<?> type) {
+        Property property = properties.get(name);
+        if (property != null) {
+            return property.type == type ? property : null;
+        }
+        Kind kind = kind(type);
+        if (kind == null) {
+            return null;
+        }
+        property = new Property(name, type, kind);
+        properties.put(name, property);
+        return property;
+    }
+
+    private static Kind kind(Class<?> type) {
+        if (type == int.class || type == Integer.class) {
+            return Kind.INT;
+        }
+        if (type == long.class || type == Long.class) {
+            return Kind.LONG;
+        }
+        if (type == short.class || type == Short.class) {
+            return Kind.SHORT;
+        }
+        if (type == double.class || type == Double.class) {
+            return Kind.DOUBLE;
+        }
+        if (type == float.class || type == Float.class) {
+            return Kind.FLOAT;
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return Kind.BOOLEAN;
+        }
+        if (type == String.class) {
+            return Kind.STRING;
+        }
+        if (JsValue.class.isAssignableFrom(type)) {
+            return Kind.JSON;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,96 @@
+package org.reactivecouchbase.json;
+
+import io.vavr.Tuple2;
+import io.vavr.collection.Map;
+
+import java.util.Iterator;
+
+/**
+ * The structural equality behind {@link JsValue#equals(Object)} and {@link JsValue#deepEquals(Object)} for objects and
+ * arrays.
+ *
+ * Containers are compared without allocating intermediate collections. Shared subtrees, different sizes and hash codes
+ * or fingerprints that were already computed and differ end the comparison early.
+ */
+final class Equality {
+
+    private Equality() {
+    }
+
+    static boolean equal(JsValue a, JsValue b) {
+        if (a == b) {
+            return true;
+        }
+        if (a == null || b == null) {
+            return false;
+        }
+        if (a instanceof JsObject) {
+            return b instanceof JsObject && objects((JsObject) a, (JsObject) b);
+        }
+        if (a instanceof JsArray) {
+            return b instanceof JsArray && arrays((JsArray) a, (JsArray) b);
+        }
+        return a.equals(b);
+    }
+
+    static boolean objects(JsObject a, JsObject b) {
+        if (a == b || a.values == b.values) {
+            return true;
+        }
+        if (a.values.size() != b.values.size() || cachedHashesDiffer(a.cachedHash(), b.cachedHash(),
+                a.cachedFingerprint(), b.cachedFingerprint())) {
+            return false;
+        }
+        if (a.values instanceof ArrayMap) {
+            ArrayMap fields = (ArrayMap) a.values;
+            for (int i = 0; i < fields.size(); i++) {
+                if (!hasField(b.values, fields.keyAt(i), i, fields.valueAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        int position = 0;
+        for (Tuple2<String, JsValue> field : a.values) {
+            if (!hasField(b.values, field._1, position++, field._2)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // equal objects usually have their fields in the same order, so the same position is looked at first
+    private static boolean hasField(Map<String, JsValue> values, String key, int position, JsValue expected) {
+        if (values instanceof ArrayMap) {
+            ArrayMap fields = (ArrayMap) values;
+            int index = fields.indexOf(key, position);
+            return index >= 0 && equal(expected, fields.valueAt(index));
+        }
+        JsValue value = values.getOrElse(key, null);
+        return value != null && equal(expected, value);
+    }
+
+    static boolean arrays(JsArray a, JsArray b) {
+        if (a == b || a.values == b.values) {
+            return true;
+        }
+        if (a.values.size() != b.values.size() || cachedHashesDiffer(a.cachedHash(), b.cachedHash(),
+                a.cachedFingerprint(), b.cachedFingerprint())) {
+            return false;
+        }
+        Iterator<JsValue> left = a.values.iterator();
+        Iterator<JsValue> right = b.values.iterator();
+        while (left.hasNext()) {
+            if (!equal(left.next(), right.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 0 means not computed yet, computing them would cost as much as comparing
+    private static boolean cachedHashesDiffer(int hashA, int hashB, long fingerprintA, long fingerprintB) {
+        return (hashA != 0 && hashB != 0 && hashA != hashB)
+                || (fingerprintA != 0L && fingerprintB != 0L && fingerprintA != fingerprintB);
+    }
+}
@@ -0,0 +1,68 @@
+package org.reactivecouchbase.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A bounded table of canonical field names for the lazy parser, so documents parsed with the same keys share the
+ * same key instances, like Jackson does with its own symbol table. Keys are looked up from their UTF-8 bytes, a hit
+ * does not allocate at all. The table is indexed by the hash of the bytes, see {@link SlotCache}.
+ */
+final class FieldKeys {
+
+    // comparing the bytes of a longer key to a cached one costs about as much as decoding it
+    private static final int MAX_LENGTH = 64;
+
+    private static final SlotCache<Key> KEYS = new SlotCache<>(2048);
+
+    private FieldKeys() {
+    }
+
+    /**
+     * @return the key encoded in UTF-8 without escapes between start (inclusive) and end (exclusive)
+     */
+    static String of(byte[] json, int start, int end) {
+        int length = end - start;
+        if (length > MAX_LENGTH) {
+            return new String(json, start, length, StandardCharsets.UTF_8);
+        }
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + json[i];
+        }
+        int bucket = KEYS.bucket(hash);
+        for (int slot = bucket; slot < bucket + SlotCache.WAYS; slot++) {
+            Key key = KEYS.get(slot);
+            if (key == null) {
+                break;
+            }
+            if (key.matches(json, start, length)) {
+                return key.value;
+            }
+        }
+        return KEYS.put(bucket, new Key(Arrays.copyOfRange(json, start, end))).value;
+    }
+
+    private static final class Key {
+        private final byte[] utf8;
+        private final String value;
+
+        private Key(byte[] utf8) {
+            this.utf8 = utf8;
+            // interned like the keys of Jackson, so lazily and fully parsed documents share keys too
+            this.value = new String(utf8, StandardCharsets.UTF_8).intern();
+        }
+
+        private boolean matches(byte[] json, int start, int length) {
+            if (utf8.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (utf8[i] != json[start + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.reactivecouchbase.json;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+
+/**
+ * A bounded cache of pre-encoded field names, so Jackson copies the escaped UTF-8 bytes of a key instead of escaping
+ * and encoding it again for every object written. The names of the few schemas an application writes fit in the
+ * cache, see {@link SlotCache} for what happens to the others.
+ */
+final class FieldNames {
+
+    // longer keys are usually data used as keys (ids, urls), they would only evict the names of the schemas
+    private static final int MAX_LENGTH = 64;
+
+    private static final SlotCache<SerializedString> NAMES = new SlotCache<>(1024);
+
+    private FieldNames() {
+    }
+
+    static SerializedString of(String key) {
+        if (key.length() > MAX_LENGTH) {
+            return new SerializedString(key);
+        }
+        int bucket = NAMES.bucket(key.hashCode());
+        for (int slot = bucket; slot < bucket + SlotCache.WAYS; slot++) {
+            SerializedString name = NAMES.get(slot);
+            if (name == null) {
+                break;
+            }
+            if (key.equals(name.getValue())) {
+                return name;
+            }
+        }
+        return NAMES.put(bucket, new SerializedString(key));
+    }
+}
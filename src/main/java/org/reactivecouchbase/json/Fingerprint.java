@@ -0,0 +1,84 @@
+package org.reactivecouchbase.json;
+
+import java.math.BigDecimal;
+
+/**
+ * The 64 bits hashing behind {@link JsValue#fingerprint()}.
+ *
+ * Fingerprints are shared between processes, so the algorithm must not change and must not depend
+ * on anything specific to a JVM, like identity hash codes or the iteration order of a hash map.
+ */
+final class Fingerprint {
+
+    static final long NULL = 0x6e756c6c6e756c6cL;
+    static final long UNDEFINED = 0x756e646566696e65L;
+    static final long TRUE = 0x7472756574727565L;
+    static final long FALSE = 0x66616c7365666173L;
+
+    private static final long STRING_SEED = 0x737472696e677321L;
+    private static final long NUMBER_SEED = 0x6e756d6265727321L;
+    private static final long DECIMAL_SEED = 0x646563696d616c21L;
+    private static final long ARRAY_SEED = 0x6172726179737321L;
+    private static final long OBJECT_SEED = 0x6f626a6563747321L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private Fingerprint() {
+    }
+
+    // the murmur3 finalizer, every input bit affects every output bit
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    static long ofString(String value) {
+        long h = STRING_SEED;
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return mix(h ^ value.length());
+    }
+
+    static long ofLong(long value) {
+        return mix(NUMBER_SEED ^ mix(value));
+    }
+
+    /**
+     * @param value a decimal without trailing zeros, so equal numbers have the same representation
+     */
+    static long ofDecimal(BigDecimal value) {
+        long h = DECIMAL_SEED;
+        for (byte b : value.unscaledValue().toByteArray()) {
+            h = (h ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return mix(h ^ mix(value.scale()));
+    }
+
+    static long startArray() {
+        return ARRAY_SEED;
+    }
+
+    // ordered, the position of an element matters
+    static long addElement(long h, long element) {
+        return mix(h ^ (element * GOLDEN_GAMMA));
+    }
+
+    static long endArray(long h, int size) {
+        return mix(h ^ size);
+    }
+
+    // unordered, entries are summed so the order of the fields does not matter
+    static long entry(String key, long value) {
+        return mix(ofString(key) ^ (value * GOLDEN_GAMMA));
+    }
+
+    static long endObject(long sumOfEntries, int size) {
+        return mix(OBJECT_SEED ^ sumOfEntries ^ mix(size));
+    }
+}
@@ -8,14 +8,24 @@ import com.fasterxml.jackson.databind.node.BigIntegerNode;
 import com.fasterxml.jackson.databind.node.DecimalNode;
 import com.fasterxml.jackson.databind.ser.Serializers;
 import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.vavr.Tuple2;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
 import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 public class Jackson {
 
@@ -41,6 +51,8 @@ public class Jackson {
     }
     */
 
+    private static final int MAX_MAPPED_CHUNK = Integer.MAX_VALUE;
+
     private static final ObjectMapper _defaultObjectMapper = newDefaultMapper(Jackson.class.getClassLoader());
     private static final JsonFactory _defaultJsonFactory = new JsonFactory(_defaultObjectMapper);
     private static volatile ObjectMapper _objectMapper = null;
@@ -70,6 +82,10 @@ public class Jackson {
         }
     }
 
+    static boolean usesDefaultMapper() {
+        return _objectMapper == null;
+    }
+
     public static JsonFactory factory() {
         if (_jsonFactory == null) {
             return _defaultJsonFactory;
@@ -107,6 +123,152 @@ public class Jackson {
         }
     }
 
+    public static JsValue parseJsValue(byte[] in) {
+        return parseJsValue(in, 0, in.length);
+    }
+
+    public static JsValue parseJsValue(byte[] in, int offset, int length) {
+        try {
+            return mapper().readValue(in, offset, length, JsValue.class);
+        } catch (Exception e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    public static JsValue parseJsValue(InputStream in) {
+        try {
+            return mapper().readValue(in, JsValue.class);
+        } catch (Exception e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    public static JsValue parseJsValue(String in, ParseOptions options) {
+        try {
+            return reader(options).readValue(in);
+        } catch (Exception e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    public static JsValue parseJsValue(byte[] in, int offset, int length, ParseOptions options) {
+        try {
+            return reader(options).readValue(in, offset, length);
+        } catch (Exception e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    public static JsValue parseJsValue(InputStream in, ParseOptions options) {
+        try {
+            return reader(options).readValue(in);
+        } catch (Exception e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    // the options are read by the JsValue deserializer from the attributes of the context
+    private static ObjectReader reader(ParseOptions options) {
+        return mapper().readerFor(JsValue.class).withAttribute(ParseOptions.class, options);
+    }
+
+    public static JsValue parseJsValue(Path path) {
+        try (InputStream in = mappedInputStream(path)) {
+            return mapper().readValue(in, JsValue.class);
+        } catch (Exception e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    static InputStream mappedInputStream(Path path) throws IOException {
+        return mappedInputStream(path, MAX_MAPPED_CHUNK);
+    }
+
+    /**
+     * Reads a file from memory mapped chunks, so the content is not copied to the heap before being parsed.
+     * A chunk is mapped when the previous one has been read and is unmapped when it is garbage collected.
+     */
+    static InputStream mappedInputStream(Path path, int chunkSize) throws IOException {
+        return new MappedInputStream(FileChannel.open(path, StandardOpenOption.READ), chunkSize);
+    }
+
+    /**
+     * The content of a file read from consecutive mapped chunks, as a mapped buffer is limited to 2GB.
+     */
+    private static final class MappedInputStream extends InputStream {
+
+        private final FileChannel channel;
+        private final int chunkSize;
+        private final long size;
+        // the position of the next chunk in the file
+        private long position;
+        private ByteBuffer chunk;
+
+        private MappedInputStream(FileChannel channel, int chunkSize) throws IOException {
+            this.channel = channel;
+            this.chunkSize = chunkSize;
+            this.size = channel.size();
+        }
+
+        // false at the end of the file
+        private boolean nextChunk() throws IOException {
+            while (chunk == null || !chunk.hasRemaining()) {
+                if (position >= size) {
+                    return false;
+                }
+                chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(chunkSize, size - position));
+                position += chunk.remaining();
+            }
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return nextChunk() ? chunk.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!nextChunk()) {
+                return -1;
+            }
+            int read = Math.min(length, chunk.remaining());
+            chunk.get(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return chunk == null ? 0 : chunk.remaining();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // the mapped chunks stay valid, closing only releases the file
+            chunk = null;
+            channel.close();
+        }
+    }
+
+    public static JsValue parseJsValue(Reader in) {
+        try {
+            return mapper().readValue(in, JsValue.class);
+        } catch (Exception e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    public static JsValue parseJsValue(ByteBuffer in) {
+        if (in.hasArray()) {
+            return parseJsValue(in.array(), in.arrayOffset() + in.position(), in.remaining());
+        }
+        // direct buffers are read in place, the buffer position is left untouched
+        return parseJsValue(new ByteBufferBackedInputStream(in.duplicate()));
+    }
+
     public static String generateFromJsValue(JsValue in) {
         try {
             StringWriter sw = new java.io.StringWriter();
@@ -119,6 +281,192 @@ public class Jackson {
         }
     }
 
+    public static byte[] generateBytesFromJsValue(JsValue in) {
+        if (in instanceof LazyJson.Raw && ((LazyJson.Raw) in).isRaw()) {
+            return ((LazyJson.Raw) in).rawBytes();
+        }
+        try {
+            // goes through a ByteArrayBuilder backed by the factory buffer recycler
+            return mapper().writeValueAsBytes(in);
+        } catch (Exception e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    public static void writeJsValue(JsValue in, OutputStream out) {
+        if (in instanceof LazyJson.Raw && ((LazyJson.Raw) in).isRaw()) {
+            try {
+                ((LazyJson.Raw) in).writeRaw(out);
+                return;
+            } catch (Exception e) {
+                throw Throwables.propagate(e);
+            }
+        }
+        try (JsonGenerator gen = factory().createGenerator(out, JsonEncoding.UTF8)) {
+            // the stream belongs to the caller, closing the generator only flushes it and releases recycled buffers
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            mapper().writeValue(gen, in);
+        } catch (Exception e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    /**
+     * @return the values of a stream of json values, like newline delimited json, read one at a time with a single parser
+     */
+    public static MappingIterator<JsValue> parseJsValues(InputStream in) {
+        try {
+            // the stream belongs to the caller, closing the iterator only releases the parser buffers
+            JsonParser parser = factory().createParser(in);
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return mapper().readerFor(JsValue.class).readValues(parser);
+        } catch (Exception e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    /**
+     * @return the elements of the array selected by the path, or of the top level array for a null path, read one at a time.
+     *         Nothing if the path does not lead to an array
+     */
+    public static ArrayElements parseJsArrayElements(InputStream in, JsPath path) {
+        try {
+            // the stream belongs to the caller, closing the iterator only releases the parser buffers
+            JsonParser parser = factory().createParser(in);
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return new ArrayElements(parser, mapper().readerFor(JsValue.class), path);
+        } catch (Exception e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    /**
+     * Iterates over the elements of an array nested in a json document, without reading the whole document.
+     * The document is only read up to the end of the array.
+     */
+    public static final class ArrayElements implements java.util.Iterator<JsValue>, java.io.Closeable {
+
+        private final JsonParser parser;
+        private final ObjectReader reader;
+        private final JsPath path;
+        private boolean started = false;
+        private boolean done = false;
+        private JsValue next = null;
+
+        private ArrayElements(JsonParser parser, ObjectReader reader, JsPath path) {
+            this.parser = parser;
+            this.reader = reader;
+            this.path = path;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (done) {
+                return false;
+            }
+            try {
+                if (!started) {
+                    started = true;
+                    if (!moveToArray()) {
+                        done = true;
+                        return false;
+                    }
+                }
+                JsonToken token = parser.nextToken();
+                if (token == null || token == JsonToken.END_ARRAY) {
+                    done = true;
+                    return false;
+                }
+                next = reader.readValue(parser);
+                return true;
+            } catch (Exception e) {
+                done = true;
+                throw Throwables.propagate(e);
+            }
+        }
+
+        @Override
+        public JsValue next() {
+            if (!hasNext()) {
+                throw new java.util.NoSuchElementException();
+            }
+            JsValue value = next;
+            next = null;
+            return value;
+        }
+
+        // the first field wins for duplicated keys as the document is not read twice
+        private boolean moveToArray() throws IOException {
+            JsonToken token = parser.nextToken();
+            int segments = path == null ? 0 : path.size();
+            for (int segment = 0; segment < segments && token != null; segment++) {
+                boolean found = false;
+                if (path.isIndex(segment)) {
+                    if (token != JsonToken.START_ARRAY) {
+                        return false;
+                    }
+                    int index = 0;
+                    while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+                        if (index == path.indexAt(segment)) {
+                            found = true;
+                            break;
+                        }
+                        parser.skipChildren();
+                        index++;
+                    }
+                } else {
+                    if (token != JsonToken.START_OBJECT) {
+                        return false;
+                    }
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String name = parser.getCurrentName();
+                        token = parser.nextToken();
+                        if (name.equals(path.fieldAt(segment))) {
+                            found = true;
+                            break;
+                        }
+                        parser.skipChildren();
+                    }
+                }
+                if (!found) {
+                    return false;
+                }
+            }
+            return token == JsonToken.START_ARRAY;
+        }
+
+        @Override
+        public void close() throws IOException {
+            done = true;
+            next = null;
+            parser.close();
+        }
+    }
+
+    /**
+     * Writes each value followed by a newline, with a single generator.
+     */
+    public static void writeJsValues(java.util.Iterator<? extends JsValue> in, OutputStream out) {
+        ObjectWriter writer = mapper().writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator gen = factory().createGenerator(out, JsonEncoding.UTF8)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.setRootValueSeparator(null);
+            while (in.hasNext()) {
+                writer.writeValue(gen, in.next());
+                gen.writeRaw('\n');
+            }
+        } catch (Exception e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    public static void writeJsValue(JsValue in, WritableByteChannel out) {
+        writeJsValue(in, Channels.newOutputStream(out));
+    }
+
     public static String prettify(JsValue in) {
         try {
             StringWriter sw = new java.io.StringWriter();
@@ -197,54 +545,85 @@ public class Jackson {
         private static final BigDecimal MaxPlain = new BigDecimal(1e20);
         // Minimum magnitude of BigDecimal to write out as a plain string
         private static final BigDecimal MinPlain = new BigDecimal(1e-10);
+        // Doubles below that magnitude without fractional part are exact longs
+        private static final double MaxExactIntegral = 0x1p53;
 
         @Override
         public void serialize(JsValue value, JsonGenerator json, SerializerProvider provider) throws IOException, JsonProcessingException {
-            for (JsNumber number : value.asOpt(JsNumber.class)) {
-                // Workaround  Same behaviour as if JsonGenerator were
-                // configured with WRITE_BIGDECIMAL_AS_PLAIN, but forced as this
-                // configuration is ignored when called from ObjectMapper.valueToTree
-                BigDecimal v = number.value;
-                BigDecimal va = v.abs();
-                boolean shouldWritePlain = va.compareTo(MaxPlain) < 0 && va.compareTo(MinPlain) > 0;
-                BigDecimal stripped = v.stripTrailingZeros();
-                String raw = stripped.toString();
-                if (shouldWritePlain) {
-                    raw = stripped.toPlainString();
-                }
-                if (raw.indexOf('E') < 0 && raw.indexOf('.') < 0) {
-                    json.writeTree(new BigIntegerNode(new BigInteger(raw)));
-                } else {
-                    json.writeTree(new DecimalNode(new BigDecimal(raw)));
-                }
-                // json.writeNumber(number.value);
-            }
-            for (JsString str : value.asOpt(JsString.class)) {
-                json.writeString(str.value);
+            switch (value.kind()) {
+                case NUMBER:
+                    writeNumber((JsNumber) value, json);
+                    break;
+                case STRING:
+                    json.writeString(((JsString) value).value);
+                    break;
+                case BOOLEAN:
+                    json.writeBoolean(((JsBoolean) value).value);
+                    break;
+                case NULL:
+                case UNDEFINED:
+                    json.writeNull();
+                    break;
+                case ARRAY:
+                    json.writeStartArray();
+                    for (JsValue val : ((JsArray) value).values) {
+                        serialize(val, json, provider);
+                    }
+                    json.writeEndArray();
+                    break;
+                case OBJECT:
+                    JsObject obj = (JsObject) value;
+                    json.writeStartObject();
+                    if (obj.values instanceof ArrayMap) {
+                        ArrayMap fields = (ArrayMap) obj.values;
+                        for (int i = 0; i < fields.size(); i++) {
+                            json.writeFieldName(FieldNames.of(fields.keyAt(i)));
+                            serialize(fields.valueAt(i), json, provider);
+                        }
+                    } else {
+                        for (Tuple2<String, JsValue> val : obj.values) {
+                            json.writeFieldName(FieldNames.of(val._1));
+                            serialize(val._2, json, provider);
+                        }
+                    }
+                    json.writeEndObject();
+                    break;
             }
-            for (JsBoolean bool : value.asOpt(JsBoolean.class)) {
-                json.writeBoolean(bool.value);
-            }
-            for (JsNull nevermind : value.asOpt(JsNull.class)) {
-                json.writeNull();
-            }
-            for (JsUndefined nevermind : value.asOpt(JsUndefined.class)) {
-                json.writeNull();
+        }
+
+        private static void writeNumber(JsNumber number, JsonGenerator json) throws IOException {
+            if (number.isLong()) {
+                json.writeNumber(number.longValue());
+                return;
             }
-            for (JsArray array : value.asOpt(JsArray.class)) {
-                json.writeStartArray();
-                for (JsValue val : array.values) {
-                    serialize(val, json, provider);
+            if (number.isDouble()) {
+                double d = number.doubleValue();
+                double abs = Math.abs(d);
+                if (abs < MaxExactIntegral && d == Math.rint(d)) {
+                    json.writeNumber((long) d);
+                    return;
                 }
-                json.writeEndArray();
-            }
-            for (JsObject obj : value.asOpt(JsObject.class)) {
-                json.writeStartObject();
-                for (Tuple2<String, JsValue> val : obj.values.toList()) {
-                    json.writeFieldName(val._1);
-                    serialize(val._2, json, provider);
+                // written with Double.toString which is plain in that range, same as the decimal path below
+                if (abs >= 1e-3 && abs < 1e7) {
+                    json.writeNumber(d);
+                    return;
                 }
-                json.writeEndObject();
+            }
+            // Workaround  Same behaviour as if JsonGenerator were
+            // configured with WRITE_BIGDECIMAL_AS_PLAIN, but forced as this
+            // configuration is ignored when called from ObjectMapper.valueToTree
+            BigDecimal v = number.value();
+            BigDecimal va = v.abs();
+            boolean shouldWritePlain = va.compareTo(MaxPlain) < 0 && va.compareTo(MinPlain) > 0;
+            BigDecimal stripped = v.stripTrailingZeros();
+            String raw = stripped.toString();
+            if (shouldWritePlain) {
+                raw = stripped.toPlainString();
+            }
+            if (raw.indexOf('E') < 0 && raw.indexOf('.') < 0) {
+                json.writeTree(new BigIntegerNode(new BigInteger(raw)));
+            } else {
+                json.writeTree(new DecimalNode(new BigDecimal(raw)));
             }
         }
     }
@@ -271,69 +650,128 @@ public class Jackson {
 
         @Override
         public JsValue deserialize(JsonParser jp, DeserializationContext ctx) throws IOException, JsonProcessingException {
+            // like any jackson deserializer, the parser is left on the last token of the value
             if (jp.getCurrentToken() == null) {
                 jp.nextToken();
             }
+            ParseOptions options = (ParseOptions) ctx.getAttribute(ParseOptions.class);
+            JsValue value = readValue(jp, ctx, options == null ? 0 : options.sharedStringsMaxLength());
+            if (!clazz.isAssignableFrom(value.getClass())) {
+                throw ctx.mappingException(clazz);
+            }
+            return value;
+        }
+
+        // strings of at most sharedLength chars come from the shared cache, 0 means never
+        private JsValue readValue(JsonParser jp, DeserializationContext ctx, int sharedLength) throws IOException {
             JsonToken token = jp.getCurrentToken();
             JsValue value = Syntax.nill();
-            if (token.equals(JsonToken.VALUE_NUMBER_FLOAT) || token.equals(JsonToken.VALUE_NUMBER_INT)) {
-                value = new JsNumber(jp.getDecimalValue());
+            if (token.equals(JsonToken.VALUE_NUMBER_INT)) {
+                value = readInteger(jp);
+            }
+            if (token.equals(JsonToken.VALUE_NUMBER_FLOAT)) {
+                value = readFloat(jp);
             }
             if (token.equals(JsonToken.VALUE_STRING)) {
-                value = new JsString(jp.getText());
+                value = readString(jp, sharedLength);
             }
             if (token.equals(JsonToken.VALUE_TRUE)) {
-                value = new JsBoolean(true);
+                value = JsBoolean.TRUE;
             }
             if (token.equals(JsonToken.VALUE_FALSE)) {
-                value = new JsBoolean(false);
+                value = JsBoolean.FALSE;
             }
             if (token.equals(JsonToken.VALUE_NULL)) {
                 value = JsNull.JSNULL_INSTANCE;
             }
             if (token.equals(JsonToken.VALUE_EMBEDDED_OBJECT)) {
-                jp.nextToken();
-                value = readObject(jp, ctx);
+                value = readObject(jp, ctx, sharedLength);
             }
             if (token.equals(JsonToken.START_OBJECT)) {
-                jp.nextToken();
-                value = readObject(jp, ctx);
+                value = readObject(jp, ctx, sharedLength);
             }
             if (token.equals(JsonToken.START_ARRAY)) {
-                jp.nextToken();
-                value = readArray(jp, ctx);
-            }
-            jp.nextToken();
-            if (!clazz.isAssignableFrom(value.getClass())) {
-                throw ctx.mappingException(clazz);
+                value = readArray(jp, ctx, sharedLength);
             }
             return value;
         }
 
-        private JsObject readObject(JsonParser jp, DeserializationContext ctx) throws java.io.IOException, JsonParseException {
-            JsObject object = new JsObject();
-            while(jp.getCurrentToken() != null && !jp.getCurrentToken().equals(JsonToken.END_OBJECT)) {
-                JsonToken token = jp.getCurrentToken();
-                if (token.equals(JsonToken.FIELD_NAME)) {
-                    String key = jp.getCurrentName();
-                    jp.nextToken();
-                    JsValue val = deserialize(jp, ctx);
-                    object = object.add(Syntax.$(key, val));
+        private JsString readString(JsonParser jp, int sharedLength) throws IOException {
+            if (sharedLength > 0 && jp.getTextLength() <= sharedLength) {
+                // read from the parser buffer, a shared value is found without allocating
+                return SharedStrings.of(jp.getTextCharacters(), jp.getTextOffset(), jp.getTextLength());
+            }
+            return JsString.apply(jp.getText());
+        }
+
+        private JsNumber readInteger(JsonParser jp) throws java.io.IOException {
+            JsonParser.NumberType type = jp.getNumberType();
+            if (type == JsonParser.NumberType.INT || type == JsonParser.NumberType.LONG) {
+                return JsNumber.valueOf(jp.getLongValue());
+            }
+            return new JsNumber(jp.getBigIntegerValue());
+        }
+
+        private JsNumber readFloat(JsonParser jp) throws java.io.IOException {
+            // a decimal without exponent, with at most 15 significant digits and without trailing zeros
+            // (but for x.0) is exactly what Double.toString gives back for the parsed double in the range
+            // where it is plain, so it can be stored as a double and still be written as it was read
+            char[] text = jp.getTextCharacters();
+            if (text != null) {
+                int offset = jp.getTextOffset();
+                int end = offset + jp.getTextLength();
+                int significantDigits = 0;
+                boolean plain = true;
+                for (int i = offset; i < end && plain; i++) {
+                    char c = text[i];
+                    if (c >= '0' && c <= '9') {
+                        if (c != '0' || significantDigits > 0) {
+                            significantDigits++;
+                        }
+                    } else if (c != '.' && c != '-') {
+                        plain = false;
+                    }
                 }
-                if (!token.equals(JsonToken.FIELD_NAME)) {
-                    jp.nextToken();
+                boolean trailingZero = text[end - 1] == '0' && text[end - 2] != '.';
+                if (plain && significantDigits <= 15 && !trailingZero) {
+                    double d = jp.getDoubleValue();
+                    double abs = Math.abs(d);
+                    if (abs == 0.0 || (abs >= 1e-3 && abs < 1e7)) {
+                        return new JsNumber(d);
+                    }
                 }
             }
-            return object;
+            return new JsNumber(jp.getDecimalValue());
+        }
+
+        private JsObject readObject(JsonParser jp, DeserializationContext ctx, int sharedLength) throws java.io.IOException, JsonParseException {
+            // fields are buffered and frozen once, merging a JsPair per field is quadratic
+            JsObject.Builder fields = JsObject.builder();
+            JsonToken token = jp.nextToken();
+            while (token == JsonToken.FIELD_NAME) {
+                String key = jp.getCurrentName();
+                jp.nextToken();
+                fields.put(key, readValue(jp, ctx, sharedLength));
+                token = jp.nextToken();
+            }
+            if (token != JsonToken.END_OBJECT) {
+                throw ctx.wrongTokenException(jp, JsObject.class, JsonToken.END_OBJECT, null);
+            }
+            return fields.build();
         }
 
-        private JsArray readArray(JsonParser jp, DeserializationContext ctx) throws java.io.IOException, JsonParseException {
-            JsArray array = new JsArray();
-            while(jp.getCurrentToken() != null && !jp.getCurrentToken().equals(JsonToken.END_ARRAY)) {
-                JsValue val = deserialize(jp, ctx);
-                array = array.addElement(val);
+        private JsArray readArray(JsonParser jp, DeserializationContext ctx, int sharedLength) throws java.io.IOException, JsonParseException {
+            // elements are buffered and frozen once, appending to an immutable Array copies it each time
+            JsArray.Builder elements = JsArray.builder();
+            JsonToken token = jp.nextToken();
+            while (token != null && token != JsonToken.END_ARRAY) {
+                elements.add(readValue(jp, ctx, sharedLength));
+                token = jp.nextToken();
+            }
+            if (token == null) {
+                throw ctx.wrongTokenException(jp, JsArray.class, JsonToken.END_ARRAY, null);
             }
-            return array;
+            return elements.build();
         }
     }
 }
@@ -5,19 +5,30 @@ import io.vavr.collection.Seq;
 import org.reactivecouchbase.json.mapping.JsResult;
 import org.reactivecouchbase.json.mapping.Reader;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 public class JsArray extends JsValue implements Iterable<JsValue> {
+    public static final JsArray EMPTY = new JsArray();
+
     public final Seq<JsValue> values;
 
+    // computed once as the array is immutable, 0 means not computed yet
+    private transient int hash;
+    // volatile like the fingerprint of JsObject, non-volatile long writes are not atomic (JLS 17.7)
+    private transient volatile long fingerprint;
+
     public static JsArray apply(Seq<JsValue> values) {
         return new JsArray(values);
     }
 
+    /**
+     * @return the shared {@link #EMPTY} array
+     */
     public static JsArray apply() {
-        return new JsArray();
+        return EMPTY;
     }
 
     public JsArray(Seq<JsValue> values) {
@@ -31,10 +42,104 @@ public class JsArray extends JsValue implements Iterable<JsValue> {
         this.values = Array.empty();
     }
 
+    /**
+     * @return a builder accumulating elements in mutable storage, to build an array in one shot
+     */
+    public static Builder builder() {
+        return new Builder(8);
+    }
+
+    /**
+     * @return a builder accumulating elements in mutable storage, sized for the expected number of elements
+     */
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    /**
+     * Builds a JsArray without copying the persistent array for each element. A builder can only build once.
+     */
+    public static final class Builder {
+
+        private JsValue[] elements;
+        private int size = 0;
+        private boolean built = false;
+
+        private Builder(int expectedSize) {
+            if (expectedSize < 0) {
+                throw new IllegalArgumentException("Expected size can't be negative !");
+            }
+            this.elements = new JsValue[expectedSize];
+        }
+
+        public Builder add(JsValue value) {
+            if (value == null) {
+                throw new IllegalArgumentException("Value can't be null !");
+            }
+            if (built) {
+                throw new IllegalStateException("Array already built !");
+            }
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, Math.max(8, size * 2));
+            }
+            elements[size++] = value;
+            return this;
+        }
+
+        public Builder add(long value) {
+            return add(JsNumber.valueOf(value));
+        }
+
+        public Builder add(double value) {
+            return add(new JsNumber(value));
+        }
+
+        public Builder add(boolean value) {
+            return add(JsBoolean.apply(value));
+        }
+
+        public Builder add(String value) {
+            return add(JsString.apply(value));
+        }
+
+        public Builder addNull() {
+            return add(JsNull.JSNULL_INSTANCE);
+        }
+
+        public Builder addAll(JsArray array) {
+            if (array == null) {
+                return this;
+            }
+            for (JsValue value : array.values) {
+                add(value);
+            }
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public JsArray build() {
+            if (built) {
+                throw new IllegalStateException("Array already built !");
+            }
+            built = true;
+            JsArray array = size == 0 ? EMPTY : new JsArray(Array.ofAll(Arrays.asList(elements).subList(0, size)));
+            elements = null;
+            return array;
+        }
+    }
+
     public boolean contains(JsValue value) {
         return values.contains(value);
     }
 
+    @Override
+    public JsKind kind() {
+        return JsKind.ARRAY;
+    }
+
     @Override
     public Iterator<JsValue> iterator() {
         return values.iterator();
@@ -42,11 +147,10 @@ public class JsArray extends JsValue implements Iterable<JsValue> {
 
     @Override
     public JsValue get(int idx) {
-        try {
-            return values.get(idx);
-        } catch (Exception e) {
+        if (idx < 0 || idx >= values.size()) {
             return JsUndefined.JSUNDEFINED_INSTANCE;
         }
+        return values.get(idx);
     }
 
     public JsArray append(JsArray arr) {
@@ -110,13 +214,28 @@ public class JsArray extends JsValue implements Iterable<JsValue> {
     }
 
     @Override
-    String toJsonString() {
-        return "[" + values.map(JsValue::toJsonString).mkString(",") + "]";
+    void toJsonString(StringBuilder out) {
+        out.append('[');
+        appendElements(out, ",");
+        out.append(']');
     }
 
     @Override
     public String toString() {
-        return "JsArray[" + values.map(JsValue::toJsonString).mkString(", ") + "]";
+        StringBuilder out = new StringBuilder("JsArray[");
+        appendElements(out, ", ");
+        return out.append(']').toString();
+    }
+
+    private void appendElements(StringBuilder out, String separator) {
+        boolean first = true;
+        for (JsValue value : values) {
+            if (!first) {
+                out.append(separator);
+            }
+            first = false;
+            value.toJsonString(out);
+        }
     }
 
     public int size() {
@@ -139,43 +258,45 @@ public class JsArray extends JsValue implements Iterable<JsValue> {
         if (!(o instanceof JsArray)) {
             return false;
         }
-        JsArray jsArray = (JsArray) o;
-        if (!values.equals(jsArray.values)) {
-            return false;
-        }
-        return true;
+        return Equality.arrays(this, (JsArray) o);
     }
 
     @Override
     public boolean deepEquals(Object o) {
-        if (this == o) {
-            return true;
-        }
-        if (!(o instanceof JsArray)) {
-            return false;
+        return equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = values.hashCode();
+            hash = h;
         }
-        JsArray jsArray = (JsArray) o;
-        for (int i = 0; i < size(); i++) {
-            JsValue v1 = get(i);
-            JsValue v2 = jsArray.get(i);
-            if (v1 == null && v2 == null) {
-                // we're good
-            } else if (v1 != null && v2 == null) {
-                return false;
-            } else if (v1 == null && v2 != null) {
-                return false;
-            } else {
-                if (!v1.deepEquals(v2)) {
-                    return false;
-                }
+        return h;
+    }
+
+    @Override
+    public long fingerprint() {
+        long f = fingerprint;
+        if (f == 0L) {
+            f = Fingerprint.startArray();
+            for (JsValue value : values) {
+                f = Fingerprint.addElement(f, value.fingerprint());
             }
+            f = Fingerprint.endArray(f, values.size());
+            fingerprint = f;
         }
-        return true;
+        return f;
     }
 
-    @Override
-    public int hashCode() {
-        return values.hashCode();
+    // the memoized hashes, 0 when not computed yet
+    int cachedHash() {
+        return hash;
+    }
+
+    long cachedFingerprint() {
+        return fingerprint;
     }
 
     @Override
@@ -4,10 +4,19 @@ import io.vavr.control.Option;
 
 public class JsBoolean extends JsValue implements java.lang.Comparable<JsBoolean> {
 
+    public static final JsBoolean TRUE = new JsBoolean(true);
+    public static final JsBoolean FALSE = new JsBoolean(false);
+
     public final Boolean value;
 
+    /**
+     * @return the shared {@link #TRUE} or {@link #FALSE} instance
+     */
     public static JsBoolean apply(Boolean value) {
-        return new JsBoolean(value);
+        if (value == null) {
+            throw new IllegalArgumentException("Value can't be null !");
+        }
+        return value ? TRUE : FALSE;
     }
 
     public JsBoolean(Boolean value) {
@@ -17,6 +26,11 @@ public class JsBoolean extends JsValue implements java.lang.Comparable<JsBoolean
         this.value = value;
     }
 
+    @Override
+    public JsKind kind() {
+        return JsKind.BOOLEAN;
+    }
+
     @Override
     public JsValue querySelector(String query) {
         return JsUndefined.JSUNDEFINED_INSTANCE;
@@ -33,11 +47,8 @@ public class JsBoolean extends JsValue implements java.lang.Comparable<JsBoolean
     }
 
     @Override
-    String toJsonString() {
-        if (value == null) {
-            return Boolean.FALSE.toString();
-        }
-        return value.toString();
+    void toJsonString(StringBuilder out) {
+        out.append(value != null && value);
     }
 
     @Override
@@ -65,6 +76,11 @@ public class JsBoolean extends JsValue implements java.lang.Comparable<JsBoolean
         return value.hashCode();
     }
 
+    @Override
+    public long fingerprint() {
+        return value ? Fingerprint.TRUE : Fingerprint.FALSE;
+    }
+
     @Override
     public boolean deepEquals(Object o) {
         return equals(o);
@@ -72,6 +88,6 @@ public class JsBoolean extends JsValue implements java.lang.Comparable<JsBoolean
 
     @Override
     public JsBoolean cloneNode() {
-        return new JsBoolean(value);
+        return apply(value);
     }
 }
\ No newline at end of file
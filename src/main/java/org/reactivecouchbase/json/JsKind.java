@@ -0,0 +1,14 @@
+package org.reactivecouchbase.json;
+
+/**
+ * The json type of a {@link JsValue}, see {@link JsValue#kind()}. A {@link JsPair} is an {@link #OBJECT}.
+ */
+public enum JsKind {
+    OBJECT,
+    ARRAY,
+    STRING,
+    NUMBER,
+    BOOLEAN,
+    NULL,
+    UNDEFINED
+}
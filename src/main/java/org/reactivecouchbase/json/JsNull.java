@@ -10,6 +10,11 @@ public class JsNull extends JsValue {
         return JSNULL_INSTANCE;
     }
 
+    @Override
+    public JsKind kind() {
+        return JsKind.NULL;
+    }
+
     @Override
     public JsValue querySelector(String query) {
         return JsUndefined.JSUNDEFINED_INSTANCE;
@@ -21,8 +26,8 @@ public class JsNull extends JsValue {
     }
 
     @Override
-    String toJsonString() {
-        return "null";
+    void toJsonString(StringBuilder out) {
+        out.append("null");
     }
 
     @Override
@@ -46,6 +51,11 @@ public class JsNull extends JsValue {
         return 42;
     }
 
+    @Override
+    public long fingerprint() {
+        return Fingerprint.NULL;
+    }
+
     @Override
     public boolean deepEquals(Object o) {
         return equals(o);
@@ -5,64 +5,190 @@ import io.vavr.control.Option;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
+/**
+ * A json number.
+ *
+ * Integral values that fit in a long are stored as a long, values built from a double are stored as a double
+ * and everything else falls back to a BigDecimal. Equality, hashing and ordering are based on the numeric value,
+ * whatever the representation, so {@code 2}, {@code 2.0} and {@code 2.00} are equal.
+ */
 public class JsNumber extends JsValue implements java.lang.Comparable<JsNumber> {
-    public final BigDecimal value;
+
+    private static final byte LONG = 0;
+    private static final byte DOUBLE = 1;
+    private static final byte DECIMAL = 2;
+
+    // doubles below that magnitude are exact integers when they have no fractional part
+    private static final double EXACT_INTEGRAL_LIMIT = 0x1p53;
+    private static final double LONG_LIMIT = 0x1p63;
+
+    private final byte representation;
+    // the long value or the raw bits of the double value
+    private final long bits;
+    private final BigDecimal decimal;
+
+    // small integral values are shared instances, like Long.valueOf does
+    private static final int SHARED_LOW = -128;
+    private static final int SHARED_HIGH = 1024;
+    private static final JsNumber[] SHARED = new JsNumber[SHARED_HIGH - SHARED_LOW];
+
+    static {
+        for (int i = 0; i < SHARED.length; i++) {
+            SHARED[i] = new JsNumber(LONG, i + SHARED_LOW, null);
+        }
+    }
 
     public static JsNumber apply(BigDecimal value) { return new JsNumber(value); }
     public static JsNumber apply(BigInteger value) { return new JsNumber(value); }
-    public static JsNumber apply(Integer value) { return new JsNumber(value); }
-    public static JsNumber apply(Long value) { return new JsNumber(value); }
+    public static JsNumber apply(Integer value) { return valueOf(checkNotNull(value)); }
+    public static JsNumber apply(Long value) { return valueOf(checkNotNull(value)); }
     public static JsNumber apply(Double value) { return new JsNumber(value); }
     public static JsNumber apply(Float value) { return new JsNumber(value); }
-    public static JsNumber apply(Short value) { return new JsNumber(value); }
+    public static JsNumber apply(Short value) { return valueOf(checkNotNull(value)); }
+
+    /**
+     * @return an integral number, values between -128 and 1023 are shared instances
+     */
+    public static JsNumber valueOf(long value) {
+        if (value >= SHARED_LOW && value < SHARED_HIGH) {
+            return SHARED[(int) value - SHARED_LOW];
+        }
+        return new JsNumber(value);
+    }
+
+    private JsNumber(byte representation, long bits, BigDecimal decimal) {
+        this.representation = representation;
+        this.bits = bits;
+        this.decimal = decimal;
+    }
+
+    public JsNumber(long value) {
+        this(LONG, value, null);
+    }
+
+    public JsNumber(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new NumberFormatException("Infinite or NaN");
+        }
+        this.representation = DOUBLE;
+        // -0.0 is the same number as 0.0
+        this.bits = Double.doubleToLongBits(value == 0.0 ? 0.0 : value);
+        this.decimal = null;
+    }
 
     public JsNumber(BigDecimal value) {
         if (value == null) {
             throw new IllegalArgumentException("Value can't be null !");
         }
-        this.value = value;
+        if (value.scale() == 0 && value.unscaledValue().bitLength() < 64) {
+            this.representation = LONG;
+            this.bits = value.longValue();
+            this.decimal = null;
+        } else {
+            this.representation = DECIMAL;
+            this.bits = 0L;
+            this.decimal = value;
+        }
     }
 
     public JsNumber(BigInteger value) {
-        if (value == null) {
-            throw new IllegalArgumentException("Value can't be null !");
-        }
-        this.value = new BigDecimal(value);
+        this(checkNotNull(value).bitLength() < 64 ? LONG : DECIMAL,
+             value.bitLength() < 64 ? value.longValue() : 0L,
+             value.bitLength() < 64 ? null : new BigDecimal(value));
     }
 
     public JsNumber(Integer value) {
-        if (value == null) {
-            throw new IllegalArgumentException("Value can't be null !");
-        }
-        this.value = BigDecimal.valueOf(value).setScale(0);
+        this(checkNotNull(value).longValue());
     }
 
     public JsNumber(Long value) {
-        if (value == null) {
-            throw new IllegalArgumentException("Value can't be null !");
-        }
-        this.value = BigDecimal.valueOf(value).setScale(0);
+        this(checkNotNull(value).longValue());
     }
 
     public JsNumber(Double value) {
-        if (value == null) {
-            throw new IllegalArgumentException("Value can't be null !");
-        }
-        this.value = BigDecimal.valueOf(value);
+        this(checkNotNull(value).doubleValue());
     }
 
     public JsNumber(Float value) {
-        if (value == null) {
-            throw new IllegalArgumentException("Value can't be null !");
-        }
-        this.value = BigDecimal.valueOf(value);
+        this(checkNotNull(value).doubleValue());
     }
 
     public JsNumber(Short value) {
+        this(checkNotNull(value).longValue());
+    }
+
+    private static <T> T checkNotNull(T value) {
         if (value == null) {
             throw new IllegalArgumentException("Value can't be null !");
         }
-        this.value = BigDecimal.valueOf(value).setScale(0);
+        return value;
+    }
+
+    public BigDecimal value() {
+        switch (representation) {
+            case LONG:
+                return BigDecimal.valueOf(bits);
+            case DOUBLE:
+                return BigDecimal.valueOf(Double.longBitsToDouble(bits));
+            default:
+                return decimal;
+        }
+    }
+
+    public long longValue() {
+        switch (representation) {
+            case LONG:
+                return bits;
+            case DOUBLE:
+                double d = Double.longBitsToDouble(bits);
+                if (Math.abs(d) < LONG_LIMIT) {
+                    return (long) d;
+                }
+                return value().longValue();
+            default:
+                return decimal.longValue();
+        }
+    }
+
+    public int intValue() {
+        return representation == DECIMAL ? decimal.intValue() : (int) longValue();
+    }
+
+    public double doubleValue() {
+        switch (representation) {
+            case LONG:
+                return (double) bits;
+            case DOUBLE:
+                return Double.longBitsToDouble(bits);
+            default:
+                return decimal.doubleValue();
+        }
+    }
+
+    public BigInteger bigIntegerValue() {
+        if (representation == LONG) {
+            return BigInteger.valueOf(bits);
+        }
+        return value().toBigInteger();
+    }
+
+    /**
+     * @return true if the number is stored as a long, ie. {@link #longValue()} is exact and does not allocate
+     */
+    public boolean isLong() {
+        return representation == LONG;
+    }
+
+    /**
+     * @return true if the number is stored as a double, ie. {@link #doubleValue()} is exact and does not allocate
+     */
+    public boolean isDouble() {
+        return representation == DOUBLE;
+    }
+
+    @Override
+    public JsKind kind() {
+        return JsKind.NUMBER;
     }
 
     @Override
@@ -77,17 +203,42 @@ public class JsNumber extends JsValue implements java.lang.Comparable<JsNumber>
 
     @Override
     public int compareTo(JsNumber jsNumber) {
-        return value.compareTo(jsNumber.value);
+        if (representation == LONG && jsNumber.representation == LONG) {
+            return Long.compare(bits, jsNumber.bits);
+        }
+        if (representation == DOUBLE && jsNumber.representation == DOUBLE) {
+            return Double.compare(Double.longBitsToDouble(bits), Double.longBitsToDouble(jsNumber.bits));
+        }
+        return value().compareTo(jsNumber.value());
     }
 
     @Override
-    String toJsonString() {
-        return value.toPlainString();
+    void toJsonString(StringBuilder out) {
+        switch (representation) {
+            case LONG:
+                out.append(bits);
+                break;
+            case DOUBLE:
+                double d = Double.longBitsToDouble(bits);
+                double abs = Math.abs(d);
+                // Double.toString only uses the plain notation in that range
+                if (abs == 0.0 || (abs >= 1e-3 && abs < 1e7)) {
+                    out.append(d);
+                } else {
+                    // same digits as Json.toBytes, BigDecimal.valueOf keeps the trailing zero of 1.0E-5
+                    out.append(value().stripTrailingZeros().toPlainString());
+                }
+                break;
+            default:
+                out.append(decimal.toPlainString());
+        }
     }
 
     @Override
     public String toString() {
-        return "JsNumber(" + value.toPlainString() + ")";
+        StringBuilder out = new StringBuilder("JsNumber(");
+        toJsonString(out);
+        return out.append(')').toString();
     }
 
     @Override
@@ -99,15 +250,82 @@ public class JsNumber extends JsValue implements java.lang.Comparable<JsNumber>
             return false;
         }
         JsNumber jsNumber = (JsNumber) o;
-        if (!value.equals(jsNumber.value)) {
-            return false;
+        if (representation == jsNumber.representation && representation != DECIMAL) {
+            return bits == jsNumber.bits;
+        }
+        if (representation == LONG && jsNumber.representation == DOUBLE) {
+            return equalsIntegral(bits, Double.longBitsToDouble(jsNumber.bits), jsNumber);
+        }
+        if (representation == DOUBLE && jsNumber.representation == LONG) {
+            return equalsIntegral(jsNumber.bits, Double.longBitsToDouble(bits), this);
+        }
+        return value().compareTo(jsNumber.value()) == 0;
+    }
+
+    private static boolean equalsIntegral(long l, double d, JsNumber doubleNumber) {
+        if (Math.abs(d) < EXACT_INTEGRAL_LIMIT) {
+            return (double) l == d && (long) d == l;
         }
-        return true;
+        return BigDecimal.valueOf(l).compareTo(doubleNumber.value()) == 0;
     }
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        switch (representation) {
+            case LONG:
+                return Long.hashCode(bits);
+            case DOUBLE:
+                double d = Double.longBitsToDouble(bits);
+                if (Math.abs(d) >= EXACT_INTEGRAL_LIMIT) {
+                    return hashCode(value());
+                }
+                if (d == Math.rint(d)) {
+                    return Long.hashCode((long) d);
+                }
+                return Double.hashCode(d);
+            default:
+                return hashCode(decimal);
+        }
+    }
+
+    private static int hashCode(BigDecimal decimal) {
+        if (decimal.signum() == 0) {
+            return Long.hashCode(0L);
+        }
+        BigDecimal stripped = decimal.stripTrailingZeros();
+        if (stripped.scale() <= 0 && stripped.precision() - stripped.scale() <= 19) {
+            BigInteger integral = stripped.toBigIntegerExact();
+            if (integral.bitLength() < 64) {
+                return Long.hashCode(integral.longValue());
+            }
+        }
+        return Double.hashCode(decimal.doubleValue());
+    }
+
+    @Override
+    public long fingerprint() {
+        if (representation == LONG) {
+            return Fingerprint.ofLong(bits);
+        }
+        if (representation == DOUBLE) {
+            double d = Double.longBitsToDouble(bits);
+            if (Math.abs(d) < EXACT_INTEGRAL_LIMIT && d == Math.rint(d)) {
+                return Fingerprint.ofLong((long) d);
+            }
+        }
+        // same canonical value as equals, whatever the representation
+        BigDecimal value = value();
+        if (value.signum() == 0) {
+            return Fingerprint.ofLong(0L);
+        }
+        BigDecimal stripped = value.stripTrailingZeros();
+        if (stripped.scale() <= 0 && stripped.precision() - stripped.scale() <= 19) {
+            BigInteger integral = stripped.toBigIntegerExact();
+            if (integral.bitLength() < 64) {
+                return Fingerprint.ofLong(integral.longValue());
+            }
+        }
+        return Fingerprint.ofDecimal(stripped);
     }
 
     @Override
@@ -117,6 +335,6 @@ public class JsNumber extends JsValue implements java.lang.Comparable<JsNumber>
 
     @Override
     public JsNumber cloneNode() {
-        return new JsNumber(value);
+        return new JsNumber(representation, bits, decimal);
     }
-}
\ No newline at end of file
+}
@@ -10,6 +10,7 @@ import org.reactivecouchbase.json.mapping.Reader;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.function.Function;
 
@@ -17,14 +18,24 @@ import static org.reactivecouchbase.json.Syntax.$;
 import static org.reactivecouchbase.json.Syntax.nill;
 
 public class JsObject extends JsValue implements Iterable<Tuple2<String, JsValue>> {
+    public static final JsObject EMPTY = new JsObject();
+
     public final Map<String, JsValue> values;
 
+    // computed once as the object is immutable, 0 means not computed yet
+    private transient int hash;
+    // volatile as a plain long may be written in two halves on 32-bit JVMs and read torn by another thread
+    private transient volatile long fingerprint;
+
     public static JsObject apply(Map<String, JsValue> values) {
         return new JsObject(values);
     }
 
+    /**
+     * @return the shared {@link #EMPTY} object
+     */
     public static JsObject apply() {
-        return new JsObject();
+        return EMPTY;
     }
 
     public JsObject(Map<String, JsValue> values) {
@@ -35,32 +46,147 @@ public class JsObject extends JsValue implements Iterable<Tuple2<String, JsValue
     }
 
     public JsObject() {
-        this.values = HashMap.empty();
+        this.values = ArrayMap.empty();
+    }
+
+    /**
+     * @return a builder accumulating fields in mutable storage, to build an object in one shot
+     */
+    public static Builder builder() {
+        return new Builder(8);
+    }
+
+    /**
+     * @return a builder accumulating fields in mutable storage, sized for the expected number of fields
+     */
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    /**
+     * Builds a JsObject without allocating a pair and a map per field. Fields are kept in insertion order,
+     * the last value wins for a duplicated key. A builder can only build once.
+     */
+    public static final class Builder {
+
+        private String[] keys;
+        private JsValue[] values;
+        private int size = 0;
+        private boolean built = false;
+
+        private Builder(int expectedSize) {
+            if (expectedSize < 0) {
+                throw new IllegalArgumentException("Expected size can't be negative !");
+            }
+            this.keys = new String[expectedSize];
+            this.values = new JsValue[expectedSize];
+        }
+
+        public Builder put(String key, JsValue value) {
+            if (key == null) {
+                throw new IllegalArgumentException("Key can't be null !");
+            }
+            if (value == null) {
+                throw new IllegalArgumentException("Value can't be null !");
+            }
+            if (built) {
+                throw new IllegalStateException("Object already built !");
+            }
+            if (size == keys.length) {
+                int capacity = Math.max(8, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            keys[size] = key;
+            values[size] = value;
+            size++;
+            return this;
+        }
+
+        public Builder put(String key, long value) {
+            return put(key, JsNumber.valueOf(value));
+        }
+
+        public Builder put(String key, double value) {
+            return put(key, new JsNumber(value));
+        }
+
+        public Builder put(String key, boolean value) {
+            return put(key, JsBoolean.apply(value));
+        }
+
+        public Builder put(String key, String value) {
+            return put(key, JsString.apply(value));
+        }
+
+        public Builder putNull(String key) {
+            return put(key, JsNull.JSNULL_INSTANCE);
+        }
+
+        public Builder putAll(JsObject object) {
+            if (object == null) {
+                return this;
+            }
+            if (object.values instanceof ArrayMap) {
+                ArrayMap fields = (ArrayMap) object.values;
+                for (int i = 0; i < fields.size(); i++) {
+                    put(fields.keyAt(i), fields.valueAt(i));
+                }
+            } else {
+                for (Tuple2<String, JsValue> field : object.values) {
+                    put(field._1, field._2);
+                }
+            }
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public JsObject build() {
+            if (built) {
+                throw new IllegalStateException("Object already built !");
+            }
+            built = true;
+            // the map owns the arrays from now on
+            JsObject object = size == 0 ? EMPTY : new JsObject(ArrayMap.of(keys, values, size));
+            keys = null;
+            values = null;
+            return object;
+        }
     }
 
     public JsObject merge(JsObject with) {
         if (with == null) {
             throw new IllegalArgumentException("Value can't be null !");
         }
-        // return new JsObject(values.merge(with.values));
-        return new JsObject(with.values.merge(values));
+        // fields of with win, new fields are appended after the existing ones
+        return new JsObject(values.merge(with.values, (mine, theirs) -> theirs));
+    }
+
+    @Override
+    public JsKind kind() {
+        return JsKind.OBJECT;
     }
 
     @Override
     public Iterator<Tuple2<String, JsValue>> iterator() {
-        return values.toList().iterator();
+        return values.iterator();
     }
 
     public JsObject deepMerge(JsObject with) {
         if (with == null) {
             throw new IllegalArgumentException("Value can't be null !");
         }
-        Map<String, JsValue> newValues = with.values;
-        for (Tuple2<String, JsValue> entry : values.toList()) {
-            if (with.values.containsKey(entry._1()) && entry._2().is(JsObject.class)) {
-                newValues = newValues.put(entry._1(), entry._2().as(JsObject.class).deepMerge(with.values.get(entry._1()).get().as(JsObject.class)));
-            } else {
-                newValues = newValues.put(entry._1(), entry._2());
+        // fields of this object win, except objects that are merged, new fields are appended
+        Map<String, JsValue> newValues = values;
+        for (Tuple2<String, JsValue> entry : with.values) {
+            JsValue value = values.getOrElse(entry._1, null);
+            if (value == null) {
+                newValues = newValues.put(entry._1, entry._2);
+            } else if (value.kind() == JsKind.OBJECT) {
+                newValues = newValues.put(entry._1, ((JsObject) value).deepMerge(entry._2.as(JsObject.class)));
             }
         }
         return new JsObject(newValues);
@@ -78,8 +204,7 @@ public class JsObject extends JsValue implements Iterable<Tuple2<String, JsValue
         if (jsObject == null) {
             return new JsObject(values);
         }
-        // return new JsObject(values.merge(jsObject.values));
-        return new JsObject(jsObject.values.merge(values));
+        return new JsObject(values.merge(jsObject.values, (mine, theirs) -> theirs));
     }
 
     public JsObject add(String key, Option<JsValue> optVal) {
@@ -141,7 +266,7 @@ public class JsObject extends JsValue implements Iterable<Tuple2<String, JsValue
         if (field == null) {
             return JsUndefined.JSUNDEFINED_INSTANCE;
         }
-        return values.get(field).getOrElse(JsUndefined.JSUNDEFINED_INSTANCE);
+        return values.getOrElse(field, JsUndefined.JSUNDEFINED_INSTANCE);
     }
 
     @Override
@@ -163,28 +288,50 @@ public class JsObject extends JsValue implements Iterable<Tuple2<String, JsValue
             if (key.equals(fieldName)) {
                 return Array.of(value);
             }
-            for (JsObject obj : value.asOpt(JsObject.class)) {
-                return obj.fields(fieldName);
-            }
-            for (JsObject obj : value.asOpt(JsPair.class)) {
-                return obj.fields(fieldName);
+            if (value.kind() == JsKind.OBJECT) {
+                return ((JsObject) value).fields(fieldName);
             }
             return Array.empty();
         });
     }
 
     @Override
-    String toJsonString() {
-        return "{" + toJsonPairString() + "}";
+    void toJsonString(StringBuilder out) {
+        out.append('{');
+        appendPairs(out);
+        out.append('}');
     }
 
     @Override
     public String toString() {
-        return "JsObject(" + toJsonPairString() + ")";
-    }
-
-    private String toJsonPairString() {
-        return values.toList().map(tuple -> "\"" + tuple._1 + "\":" + tuple._2.toJsonString()).mkString(",");
+        StringBuilder out = new StringBuilder("JsObject(");
+        appendPairs(out);
+        return out.append(')').toString();
+    }
+
+    private void appendPairs(StringBuilder out) {
+        if (values instanceof ArrayMap) {
+            ArrayMap map = (ArrayMap) values;
+            for (int i = 0; i < map.size(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                Stringifier.appendQuoted(out, map.keyAt(i));
+                out.append(':');
+                map.valueAt(i).toJsonString(out);
+            }
+            return;
+        }
+        boolean first = true;
+        for (Tuple2<String, JsValue> tuple : values) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            Stringifier.appendQuoted(out, tuple._1);
+            out.append(':');
+            tuple._2.toJsonString(out);
+        }
     }
 
     @Override
@@ -195,34 +342,45 @@ public class JsObject extends JsValue implements Iterable<Tuple2<String, JsValue
         if (!(o instanceof JsObject)) {
             return false;
         }
-        JsObject object = (JsObject) o;
-        if (!values.equals(object.values)) {
-            return false;
-        }
-        return true;
+        return Equality.objects(this, (JsObject) o);
     }
 
     @Override
     public boolean deepEquals(Object o) {
-        if (this == o) {
-            return true;
-        }
-        if (!(o instanceof JsObject)) {
-            return false;
+        return equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = values.hashCode();
+            hash = h;
         }
-        JsObject object = (JsObject) o;
-        for (Tuple2<String, JsValue> value : values.toList()) {
-            JsValue field = object.field(value._1());
-            if (!field.deepEquals(value._2())) {
-                return false;
+        return h;
+    }
+
+    @Override
+    public long fingerprint() {
+        long f = fingerprint;
+        if (f == 0L) {
+            long entries = 0L;
+            for (Tuple2<String, JsValue> entry : values) {
+                entries += Fingerprint.entry(entry._1, entry._2.fingerprint());
             }
+            f = Fingerprint.endObject(entries, values.size());
+            fingerprint = f;
         }
-        return true;
+        return f;
     }
 
-    @Override
-    public int hashCode() {
-        return values.hashCode();
+    // the memoized hashes, 0 when not computed yet
+    int cachedHash() {
+        return hash;
+    }
+
+    long cachedFingerprint() {
+        return fingerprint;
     }
 
     @Override
@@ -231,7 +389,7 @@ public class JsObject extends JsValue implements Iterable<Tuple2<String, JsValue
     }
 
     public JsObject mapProperties(Function<Tuple2<String, JsValue>, JsValue> block) {
-        return new JsObject(values.map(t -> Tuple.of(t._1, block.apply(t))).toMap(t -> t));
+        return new JsObject(ArrayMap.ofEntries(values.iterator().map(t -> Tuple.of(t._1, block.apply(t)))));
     }
 
     public <T> Map<String, T> mapPropertiesWith(Reader<T> reader) {
@@ -274,7 +432,7 @@ public class JsObject extends JsValue implements Iterable<Tuple2<String, JsValue
 
     @Override
     public JsObject cloneNode() {
-        return new JsObject(HashMap.ofEntries(values));
+        return builder(size()).putAll(this).build();
     }
 
     public JsObject with(String key) {
@@ -9,11 +9,11 @@ public class JsPair extends JsObject {
     }
 
     public JsPair(String name, Long value) {
-        super(Syntax.asMap(name, new JsNumber(value)));
+        super(Syntax.asMap(name, JsNumber.apply(value)));
     }
 
     public JsPair(String name, Integer value) {
-        super(Syntax.asMap(name, new JsNumber(value)));
+        super(Syntax.asMap(name, JsNumber.apply(value)));
     }
 
     public JsPair(String name, Double value) {
@@ -33,10 +33,10 @@ public class JsPair extends JsObject {
     }
 
     public JsPair(String name, String value) {
-        super(Syntax.asMap(name, new JsString(value)));
+        super(Syntax.asMap(name, JsString.apply(value)));
     }
 
     public JsPair(String name, Boolean value) {
-        super(Syntax.asMap(name, new JsBoolean(value)));
+        super(Syntax.asMap(name, JsBoolean.apply(value)));
     }
 }
\ No newline at end of file
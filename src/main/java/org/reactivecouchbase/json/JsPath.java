@@ -0,0 +1,165 @@
+package org.reactivecouchbase.json;
+
+import io.vavr.control.Option;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A compiled query selector, like {@code "key5.key3[2].name"} or {@code "[0].id"}.
+ *
+ * The query is parsed once, evaluating it does not use regexes, exceptions or allocations.
+ * Compiled paths are immutable and can be shared between threads.
+ */
+public final class JsPath {
+
+    // the queries of an application are few, a new one replaces a path of its bucket instead of being ignored
+    private static final SlotCache<JsPath> CACHE = new SlotCache<>(4096);
+
+    private static final Pattern dotSplitter = Pattern.compile("\\.");
+    private static final Pattern indexedPart = Pattern.compile("([^\\[]*)((?:\\[\\d+\\])+)");
+    private static final Pattern indexSelector = Pattern.compile("\\[(\\d+)\\]");
+
+    private final String query;
+    // a null field means that the segment is an array index
+    private final String[] fields;
+    private final int[] indexes;
+
+    private JsPath(String query, String[] fields, int[] indexes) {
+        this.query = query;
+        this.fields = fields;
+        this.indexes = indexes;
+    }
+
+    /**
+     * @return the compiled path for the query, from a bounded cache shared by all query selectors
+     */
+    public static JsPath of(String query) {
+        int bucket = CACHE.bucket(query.hashCode());
+        for (int slot = bucket; slot < bucket + SlotCache.WAYS; slot++) {
+            JsPath path = CACHE.get(slot);
+            if (path == null) {
+                break;
+            }
+            if (path.query.equals(query)) {
+                return path;
+            }
+        }
+        return CACHE.put(bucket, compile(query));
+    }
+
+    /**
+     * @return a newly compiled path for the query, not cached
+     */
+    public static JsPath compile(String query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query can't be null !");
+        }
+        List<String> fields = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        for (String part : dotSplitter.split(query)) {
+            Matcher matcher = indexedPart.matcher(part);
+            if (!matcher.matches()) {
+                fields.add(part);
+                indexes.add(-1);
+                continue;
+            }
+            if (!matcher.group(1).isEmpty()) {
+                fields.add(matcher.group(1));
+                indexes.add(-1);
+            }
+            Matcher index = indexSelector.matcher(matcher.group(2));
+            while (index.find()) {
+                fields.add(null);
+                indexes.add(parseIndex(index.group(1)));
+            }
+        }
+        int[] indexesArray = new int[indexes.size()];
+        for (int i = 0; i < indexesArray.length; i++) {
+            indexesArray[i] = indexes.get(i);
+        }
+        return new JsPath(query, fields.toArray(new String[0]), indexesArray);
+    }
+
+    private static int parseIndex(String digits) {
+        try {
+            return Integer.parseInt(digits);
+        } catch (NumberFormatException e) {
+            // too big to be an index, it will never match anything
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * @return the selected value, JsUndefined if nothing matches
+     */
+    public JsValue select(JsValue root) {
+        JsValue value = selectOrNull(root);
+        return value == null ? JsUndefined.JSUNDEFINED_INSTANCE : value;
+    }
+
+    /**
+     * @return the selected value, none if an index is applied to something that is not an array
+     */
+    public Option<JsValue> selectOpt(JsValue root) {
+        return Option.of(selectOrNull(root));
+    }
+
+    JsValue selectOrNull(JsValue root) {
+        JsValue current = root;
+        for (int i = 0; i < fields.length; i++) {
+            String field = fields[i];
+            if (field != null) {
+                current = current.field(field);
+            } else if (current instanceof JsArray) {
+                current = current.get(indexes[i]);
+            } else {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    int size() {
+        return fields.length;
+    }
+
+    boolean isIndex(int segment) {
+        return fields[segment] == null;
+    }
+
+    String fieldAt(int segment) {
+        return fields[segment];
+    }
+
+    int indexAt(int segment) {
+        return indexes[segment];
+    }
+
+    public String query() {
+        return query;
+    }
+
+    @Override
+    public String toString() {
+        return "JsPath(" + query + ")";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JsPath)) {
+            return false;
+        }
+        return query.equals(((JsPath) o).query);
+    }
+
+    @Override
+    public int hashCode() {
+        return query.hashCode();
+    }
+}
@@ -1,12 +1,19 @@
 package org.reactivecouchbase.json;
 
-import com.fasterxml.jackson.databind.node.TextNode;
 import io.vavr.control.Option;
 
 public class JsString extends JsValue implements java.lang.Comparable<JsString> {
+    public static final JsString EMPTY = new JsString("");
+
     public final String value;
 
+    /**
+     * @return a string, the empty string is the shared {@link #EMPTY} instance
+     */
     public static JsString apply(String value) {
+        if (value == null || value.isEmpty()) {
+            return EMPTY;
+        }
         return new JsString(value);
     }
 
@@ -17,6 +24,11 @@ public class JsString extends JsValue implements java.lang.Comparable<JsString>
         this.value = value;
     }
 
+    @Override
+    public JsKind kind() {
+        return JsKind.STRING;
+    }
+
     @Override
     public JsValue querySelector(String query) {
         return JsUndefined.JSUNDEFINED_INSTANCE;
@@ -33,8 +45,8 @@ public class JsString extends JsValue implements java.lang.Comparable<JsString>
     }
 
     @Override
-    String toJsonString() {
-        return new TextNode(value).toString();
+    void toJsonString(StringBuilder out) {
+        Stringifier.appendQuoted(out, value);
     }
 
     @Override
@@ -65,6 +77,11 @@ public class JsString extends JsValue implements java.lang.Comparable<JsString>
         return value.hashCode();
     }
 
+    @Override
+    public long fingerprint() {
+        return Fingerprint.ofString(value);
+    }
+
     @Override
     public boolean deepEquals(Object o) {
         return equals(o);
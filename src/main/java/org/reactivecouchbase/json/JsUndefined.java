@@ -8,8 +8,13 @@ public class JsUndefined extends JsValue {
     static final JsUndefined JSUNDEFINED_INSTANCE = new JsUndefined();
 
     @Override
-    String toJsonString() {
-        return "undefined";
+    void toJsonString(StringBuilder out) {
+        out.append("undefined");
+    }
+
+    @Override
+    public JsKind kind() {
+        return JsKind.UNDEFINED;
     }
 
     @Override
@@ -43,6 +48,11 @@ public class JsUndefined extends JsValue {
         return 42;
     }
 
+    @Override
+    public long fingerprint() {
+        return Fingerprint.UNDEFINED;
+    }
+
     @Override
     public boolean deepEquals(Object o) {
         return equals(o);
@@ -4,16 +4,23 @@ import io.vavr.collection.Array;
 import io.vavr.collection.Seq;
 import io.vavr.control.Option;
 import io.vavr.control.Validation;
+import org.reactivecouchbase.json.exceptions.JsonReadError;
+import org.reactivecouchbase.json.exceptions.JsonTypeError;
 import org.reactivecouchbase.json.mapping.*;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.function.Function;
-import java.util.regex.Pattern;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
 public abstract class JsValue implements Serializable {
+
+    /**
+     * @return the json type of the value, cheaper than {@link #is(Class)} to dispatch on
+     */
+    public abstract JsKind kind();
+
     public <T extends JsValue> Iterable<T> extractAs(Class<T> clazz) {
         if (is(clazz)) {
             return Option.some(clazz.cast(this));
@@ -22,10 +29,16 @@ public abstract class JsValue implements Serializable {
     }
 
     public <T extends JsValue> boolean is(Class<T> clazz) {
-        return clazz.isAssignableFrom(this.getClass());
+        return clazz.isInstance(this);
+    }
+
+    String toJsonString() {
+        StringBuilder out = new StringBuilder();
+        toJsonString(out);
+        return out.toString();
     }
 
-    abstract String toJsonString();
+    abstract void toJsonString(StringBuilder out);
 
     public <T> T as(Reader<T> reader) {
         return reader.read(this).getOpt().get();
@@ -139,6 +152,146 @@ public abstract class JsValue implements Serializable {
         return this.field(field).as(Boolean.class);
     }
 
+    /**
+     * Reads the field with a direct lookup and a kind check, without boxing or allocating an Option or a JsResult.
+     * The getters without default value throw a {@link JsonTypeError} with a stack trace, unlike the errors returned
+     * by the readers, as throwing is not the normal flow of a getter.
+     *
+     * @throws JsonTypeError if the field is missing or not a number
+     */
+    public long getLong(String field) {
+        JsValue value = field(field);
+        if (value.kind() != JsKind.NUMBER) {
+            throw new JsonTypeError(field, JsKind.NUMBER, value.kind());
+        }
+        return ((JsNumber) value).longValue();
+    }
+
+    /**
+     * @return the value of the field, or defaultValue if the field is missing or not a number
+     */
+    public long getLong(String field, long defaultValue) {
+        JsValue value = field(field);
+        return value.kind() == JsKind.NUMBER ? ((JsNumber) value).longValue() : defaultValue;
+    }
+
+    public long getLong(int index) {
+        JsValue value = get(index);
+        if (value.kind() != JsKind.NUMBER) {
+            throw new JsonTypeError(JsonReadError.indexPath(index), JsKind.NUMBER, value.kind());
+        }
+        return ((JsNumber) value).longValue();
+    }
+
+    public long getLong(int index, long defaultValue) {
+        JsValue value = get(index);
+        return value.kind() == JsKind.NUMBER ? ((JsNumber) value).longValue() : defaultValue;
+    }
+
+    public int getInt(String field) {
+        JsValue value = field(field);
+        if (value.kind() != JsKind.NUMBER) {
+            throw new JsonTypeError(field, JsKind.NUMBER, value.kind());
+        }
+        return ((JsNumber) value).intValue();
+    }
+
+    public int getInt(String field, int defaultValue) {
+        JsValue value = field(field);
+        return value.kind() == JsKind.NUMBER ? ((JsNumber) value).intValue() : defaultValue;
+    }
+
+    public int getInt(int index) {
+        JsValue value = get(index);
+        if (value.kind() != JsKind.NUMBER) {
+            throw new JsonTypeError(JsonReadError.indexPath(index), JsKind.NUMBER, value.kind());
+        }
+        return ((JsNumber) value).intValue();
+    }
+
+    public int getInt(int index, int defaultValue) {
+        JsValue value = get(index);
+        return value.kind() == JsKind.NUMBER ? ((JsNumber) value).intValue() : defaultValue;
+    }
+
+    public double getDouble(String field) {
+        JsValue value = field(field);
+        if (value.kind() != JsKind.NUMBER) {
+            throw new JsonTypeError(field, JsKind.NUMBER, value.kind());
+        }
+        return ((JsNumber) value).doubleValue();
+    }
+
+    public double getDouble(String field, double defaultValue) {
+        JsValue value = field(field);
+        return value.kind() == JsKind.NUMBER ? ((JsNumber) value).doubleValue() : defaultValue;
+    }
+
+    public double getDouble(int index) {
+        JsValue value = get(index);
+        if (value.kind() != JsKind.NUMBER) {
+            throw new JsonTypeError(JsonReadError.indexPath(index), JsKind.NUMBER, value.kind());
+        }
+        return ((JsNumber) value).doubleValue();
+    }
+
+    public double getDouble(int index, double defaultValue) {
+        JsValue value = get(index);
+        return value.kind() == JsKind.NUMBER ? ((JsNumber) value).doubleValue() : defaultValue;
+    }
+
+    public boolean getBoolean(String field) {
+        JsValue value = field(field);
+        if (value.kind() != JsKind.BOOLEAN) {
+            throw new JsonTypeError(field, JsKind.BOOLEAN, value.kind());
+        }
+        return ((JsBoolean) value).value;
+    }
+
+    public boolean getBoolean(String field, boolean defaultValue) {
+        JsValue value = field(field);
+        return value.kind() == JsKind.BOOLEAN ? ((JsBoolean) value).value : defaultValue;
+    }
+
+    public boolean getBoolean(int index) {
+        JsValue value = get(index);
+        if (value.kind() != JsKind.BOOLEAN) {
+            throw new JsonTypeError(JsonReadError.indexPath(index), JsKind.BOOLEAN, value.kind());
+        }
+        return ((JsBoolean) value).value;
+    }
+
+    public boolean getBoolean(int index, boolean defaultValue) {
+        JsValue value = get(index);
+        return value.kind() == JsKind.BOOLEAN ? ((JsBoolean) value).value : defaultValue;
+    }
+
+    public String getString(String field) {
+        JsValue value = field(field);
+        if (value.kind() != JsKind.STRING) {
+            throw new JsonTypeError(field, JsKind.STRING, value.kind());
+        }
+        return ((JsString) value).value;
+    }
+
+    public String getString(String field, String defaultValue) {
+        JsValue value = field(field);
+        return value.kind() == JsKind.STRING ? ((JsString) value).value : defaultValue;
+    }
+
+    public String getString(int index) {
+        JsValue value = get(index);
+        if (value.kind() != JsKind.STRING) {
+            throw new JsonTypeError(JsonReadError.indexPath(index), JsKind.STRING, value.kind());
+        }
+        return ((JsString) value).value;
+    }
+
+    public String getString(int index, String defaultValue) {
+        JsValue value = get(index);
+        return value.kind() == JsKind.STRING ? ((JsString) value).value : defaultValue;
+    }
+
     public <T> Option<T> asOpt(Reader<T> reader) {
         return reader.read(this).getOpt();
     }
@@ -190,36 +343,26 @@ public abstract class JsValue implements Serializable {
     }
 
     public JsValue querySelector(String query) {
-        return querySelectorOpt(query).getOrElse(JsUndefined.JSUNDEFINED_INSTANCE);
+        // a null query selects nothing, like an invalid one
+        if (query == null) {
+            return JsUndefined.JSUNDEFINED_INSTANCE;
+        }
+        return JsPath.of(query).select(this);
     }
 
-    private static final Pattern jsonFieldArraySelector = Pattern.compile("(.+)\\[(\\d)+\\]");
-    private static final Pattern jsonArraySelector = Pattern.compile("\\[(\\d)+\\]");
-    private static final Pattern dotSplitter = Pattern.compile("\\.");
-    private static final Pattern squareBracketSplitter = Pattern.compile("\\[");
-
     public Option<JsValue> querySelectorOpt(String query) {
-        JsValue currentValue = this;
-        try {
-            String[] partsArray = dotSplitter.split(query);
-            Seq<String> parts = partsArray == null ? Array.empty() : Array.of(partsArray);
-            for (String part : parts) {
-                if (jsonFieldArraySelector.matcher(part).matches()) {
-                    String[] subParts = squareBracketSplitter.split(part);
-                    String field = subParts[0];
-                    Integer index = Integer.valueOf(subParts[1].replace("]", ""));
-                    currentValue = currentValue.field(field).asArray().get(index);
-                } else if (part.startsWith("[") && jsonArraySelector.matcher(part).matches()) {
-                    Integer index = Integer.valueOf(part.replace("[", "").replace("]", ""));
-                    currentValue = currentValue.asArray().get(index);
-                } else {
-                    currentValue = currentValue.field(part);
-                }
-            }
-        } catch (Exception e) {
+        if (query == null) {
             return Option.none();
         }
-        return Option.of(currentValue);
+        return JsPath.of(query).selectOpt(this);
+    }
+
+    public JsValue querySelector(JsPath path) {
+        return path.select(this);
+    }
+
+    public Option<JsValue> querySelectorOpt(JsPath path) {
+        return path.selectOpt(this);
     }
 
     public JsValue field(String field) {
@@ -240,6 +383,13 @@ public abstract class JsValue implements Serializable {
 
     public abstract boolean deepEquals(Object o);
 
+    /**
+     * @return a 64 bits hash of the value that does not depend on the JVM or on the process, so it can be used as
+     *         a cache key shared between processes. Equal values have the same fingerprint and the order of the fields
+     *         of an object does not matter. It is not a cryptographic hash.
+     */
+    public abstract long fingerprint();
+
     public abstract JsValue cloneNode();
 
     public String stringify() {
@@ -1,18 +1,35 @@
 package org.reactivecouchbase.json;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import io.vavr.Tuple2;
 import io.vavr.collection.Array;
 import io.vavr.collection.Map;
 import io.vavr.collection.Seq;
 import io.vavr.control.Validation;
 import org.reactivecouchbase.json.mapping.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Json {
 
     public static JsObject obj(Map<String, ?> objects) {
-        return new JsObject(objects.bimap(k -> k, Json::wrap));
+        JsObject.Builder object = JsObject.builder(objects.size());
+        for (Tuple2<String, ?> entry : objects) {
+            object.put(entry._1, wrap(entry._2));
+        }
+        return object.build();
     }
 
     public static <T> Format<T> format(final Class<T> clazz) {
@@ -35,27 +52,94 @@ public class Json {
         if (DefaultReaders.readers.containsKey(clazz)) {
             return (Reader<T>) DefaultReaders.readers.get(clazz).get();
         }
-        return value -> {
-            try {
-                return new JsSuccess<T>(Jackson.fromJson(Jackson.jsValueToJsonNode(value), clazz));
-            } catch (Exception e) {
-                return new JsError<T>(Array.of(e));
-            }
-        };
+        // simple beans are read directly from the JsObject, anything else goes through a Jackson tree
+        return value -> Binder.read(clazz, value);
     }
 
     public static <T> Writer<T> writes(final Class<T> clazz) {
-        return value -> Jackson.jsonNodeToJsValue(Jackson.toJson(value));
+        return Binder::write;
     }
 
     public static JsValue toJson(Object o) {
-        return Jackson.jsonNodeToJsValue(Jackson.toJson(o));
+        return Binder.write(o);
     }
 
     public static JsValue parse(String json) {
         return Jackson.parseJsValue(json);
     }
 
+    public static JsValue parse(byte[] json) {
+        return Jackson.parseJsValue(json);
+    }
+
+    public static JsValue parse(byte[] json, int offset, int length) {
+        return Jackson.parseJsValue(json, offset, length);
+    }
+
+    public static JsValue parse(String json, ParseOptions options) {
+        return Jackson.parseJsValue(json, options);
+    }
+
+    public static JsValue parse(byte[] json, ParseOptions options) {
+        return Jackson.parseJsValue(json, 0, json.length, options);
+    }
+
+    public static JsValue parse(InputStream json, ParseOptions options) {
+        return Jackson.parseJsValue(json, options);
+    }
+
+    /**
+     * Parses a file from memory mapped chunks, without reading it in a String or a byte array first.
+     */
+    public static JsValue parse(Path json) {
+        return Jackson.parseJsValue(json);
+    }
+
+    /**
+     * Applies the action to each element of the top level array of a file, elements are parsed one at a time from
+     * memory mapped chunks. Nothing happens if the file does not contain an array.
+     */
+    public static void forEachElement(Path json, Consumer<? super JsValue> action) {
+        try (InputStream in = Jackson.mappedInputStream(json); Stream<JsValue> elements = streamArray(in)) {
+            elements.forEach(action);
+        } catch (IOException e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    /**
+     * Parses objects and arrays lazily : only the positions of their fields and elements are indexed, values are
+     * parsed when they are accessed. Untouched documents are written by copying their bytes when these are valid json
+     * without whitespaces, other documents are written like parsed ones. Malformed content is only detected when it is
+     * accessed or written.
+     *
+     * The array is kept as is, it is not copied : modifying it afterwards changes the values that are parsed from it,
+     * including values of a document that was already returned.
+     */
+    public static JsValue lazyParse(byte[] json) {
+        return LazyJson.parse(json, 0, json.length);
+    }
+
+    public static JsValue lazyParse(byte[] json, int offset, int length) {
+        return LazyJson.parse(json, offset, length);
+    }
+
+    public static JsValue lazyParse(byte[] json, ParseOptions options) {
+        return LazyJson.parse(json, 0, json.length, options);
+    }
+
+    public static JsValue parse(InputStream json) {
+        return Jackson.parseJsValue(json);
+    }
+
+    public static JsValue parse(java.io.Reader json) {
+        return Jackson.parseJsValue(json);
+    }
+
+    public static JsValue parse(ByteBuffer json) {
+        return Jackson.parseJsValue(json);
+    }
+
     public static <T> Reader<T> safeReader(final Reader<T> reader) {
         return value -> {
             try {
@@ -67,11 +151,11 @@ public class Json {
     }
 
     public static JsObject obj(Iterable<? extends JsObject> objects) {
-        JsObject root = new JsObject();
+        JsObject.Builder root = JsObject.builder();
         for (JsObject object : objects) {
-            root = root.add(object);
+            root.putAll(object);
         }
-        return root;
+        return root.build();
     }
 
     public static JsObject obj(JsObject... objects) {
@@ -79,7 +163,7 @@ public class Json {
     }
 
     public static JsObject obj() {
-        return new JsObject();
+        return JsObject.EMPTY;
     }
 
     public static <T extends Object> JsArray array(Seq<T> objects) {
@@ -99,7 +183,82 @@ public class Json {
     }
 
     public static String stringify(JsValue value) {
-        return value.toJsonString();
+        return Stringifier.stringify(value);
+    }
+
+    public static StringBuilder stringify(JsValue value, StringBuilder out) {
+        value.toJsonString(out);
+        return out;
+    }
+
+    /**
+     * @return a lazy stream of the values of newline delimited json, or of any json values separated by whitespaces.
+     *         Values are parsed one at a time so memory does not depend on the size of the input. Closing the stream
+     *         releases the parser but does not close the input stream.
+     */
+    public static Stream<JsValue> lines(InputStream json) {
+        MappingIterator<JsValue> values = Jackson.parseJsValues(json);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(values, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        values.close();
+                    } catch (IOException e) {
+                        throw Throwables.propagate(e);
+                    }
+                });
+    }
+
+    /**
+     * @return a lazy stream of the elements of a top level json array, parsed one at a time as the stream is consumed,
+     *         so arrays bigger than the heap can be processed. Closing the stream does not close the input stream.
+     */
+    public static Stream<JsValue> streamArray(InputStream json) {
+        return streamArray(json, (JsPath) null);
+    }
+
+    /**
+     * @return a lazy stream of the elements of the array selected by a query like {@code "results"} or {@code "data.pages[0].items"},
+     *         empty if the query does not select an array. Values around the array are skipped without being built.
+     */
+    public static Stream<JsValue> streamArray(InputStream json, String query) {
+        return streamArray(json, JsPath.of(query));
+    }
+
+    /**
+     * @return a lazy stream of the elements of the array selected by the path, a null path selects the top level array
+     */
+    public static Stream<JsValue> streamArray(InputStream json, JsPath path) {
+        if (json == null) {
+            throw new IllegalArgumentException("Input can't be null !");
+        }
+        Jackson.ArrayElements elements = Jackson.parseJsArrayElements(json, path);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(elements, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        elements.close();
+                    } catch (IOException e) {
+                        throw Throwables.propagate(e);
+                    }
+                });
+    }
+
+    /**
+     * Writes each value on its own line, as newline delimited json. The output stream is flushed but not closed.
+     */
+    public static void writeLines(Stream<? extends JsValue> values, OutputStream out) {
+        Jackson.writeJsValues(values.iterator(), out);
+    }
+
+    public static byte[] toBytes(JsValue value) {
+        return Jackson.generateBytesFromJsValue(value);
+    }
+
+    public static void writeTo(JsValue value, OutputStream out) {
+        Jackson.writeJsValue(value, out);
+    }
+
+    public static void writeTo(JsValue value, WritableByteChannel out) {
+        Jackson.writeJsValue(value, out);
     }
 
     public static String stringify(JsValue value, boolean pretty) {
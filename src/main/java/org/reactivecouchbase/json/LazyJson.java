@@ -0,0 +1,617 @@
+package org.reactivecouchbase.json;
+
+import com.fasterxml.jackson.core.JsonParseException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Lazy parsing of json documents.
+ *
+ * Objects and arrays only index the positions of their direct children, a child is parsed the first time it
+ * is accessed and nested objects and arrays are lazy as well. Lazy objects and arrays are immutable so they
+ * are written as json by copying their raw bytes once these have been checked to be valid compact json, other
+ * ones are written like parsed values. Java serialization writes them as plain objects and arrays. Malformed
+ * content is only detected when it is accessed or written.
+ */
+final class LazyJson {
+
+    private LazyJson() {
+    }
+
+    /**
+     * Lazy values that can be written as the raw bytes they have been parsed from.
+     */
+    interface Raw {
+
+        /**
+         * @return true if the raw bytes are valid json without whitespaces, the only case where they are written as is
+         */
+        boolean isRaw();
+
+        byte[] rawBytes();
+
+        void writeRaw(OutputStream out) throws IOException;
+    }
+
+    /**
+     * The raw json of the values of a lazy object or array.
+     */
+    static final class Slices {
+
+        private final byte[] json;
+        private final int[] starts;
+        private final int[] ends;
+        private final int sharedLength;
+
+        private Slices(byte[] json, int[] starts, int[] ends, int sharedLength) {
+            this.json = json;
+            this.starts = starts;
+            this.ends = ends;
+            this.sharedLength = sharedLength;
+        }
+
+        JsValue valueAt(int index) {
+            return value(json, starts[index], ends[index], sharedLength);
+        }
+    }
+
+    static final class LazyJsObject extends JsObject implements Raw {
+
+        private final byte[] json;
+        private final int start;
+        private final int end;
+        // 0 when not checked yet, 1 when the raw bytes are valid compact json, -1 otherwise
+        private byte raw;
+
+        private LazyJsObject(byte[] json, int start, int end, int sharedLength) {
+            super(indexObject(json, start, end, sharedLength));
+            this.json = json;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean isRaw() {
+            if (raw == 0) {
+                // racy but harmless, every thread finds the same result
+                raw = compactEnd(json, start, end) == end ? (byte) 1 : (byte) -1;
+            }
+            return raw > 0;
+        }
+
+        @Override
+        void toJsonString(StringBuilder out) {
+            if (isRaw()) {
+                out.append(new String(json, start, end - start, StandardCharsets.UTF_8));
+            } else {
+                super.toJsonString(out);
+            }
+        }
+
+        @Override
+        public byte[] rawBytes() {
+            return Arrays.copyOfRange(json, start, end);
+        }
+
+        @Override
+        public void writeRaw(OutputStream out) throws IOException {
+            out.write(json, start, end - start);
+        }
+
+        // java serialization writes a fully built JsObject rather than the whole raw document
+        private Object writeReplace() {
+            return new JsObject(values);
+        }
+    }
+
+    static final class LazyJsArray extends JsArray implements Raw {
+
+        private final byte[] json;
+        private final int start;
+        private final int end;
+        // 0 when not checked yet, 1 when the raw bytes are valid compact json, -1 otherwise
+        private byte raw;
+
+        private LazyJsArray(byte[] json, int start, int end, int sharedLength) {
+            super(indexArray(json, start, end, sharedLength));
+            this.json = json;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean isRaw() {
+            if (raw == 0) {
+                // racy but harmless, every thread finds the same result
+                raw = compactEnd(json, start, end) == end ? (byte) 1 : (byte) -1;
+            }
+            return raw > 0;
+        }
+
+        @Override
+        void toJsonString(StringBuilder out) {
+            if (isRaw()) {
+                out.append(new String(json, start, end - start, StandardCharsets.UTF_8));
+            } else {
+                super.toJsonString(out);
+            }
+        }
+
+        @Override
+        public byte[] rawBytes() {
+            return Arrays.copyOfRange(json, start, end);
+        }
+
+        @Override
+        public void writeRaw(OutputStream out) throws IOException {
+            out.write(json, start, end - start);
+        }
+
+        // java serialization writes a fully built JsArray rather than the whole raw document
+        private Object writeReplace() {
+            return new JsArray(values);
+        }
+    }
+
+    static JsValue parse(byte[] json, int offset, int length) {
+        return parse(json, offset, length, ParseOptions.defaults());
+    }
+
+    static JsValue parse(byte[] json, int offset, int length, ParseOptions options) {
+        if (offset < 0 || length < 0 || offset + length > json.length) {
+            throw new IndexOutOfBoundsException("Invalid slice [" + offset + ", " + (offset + length) + "[ of " + json.length + " bytes");
+        }
+        int start = skipWhitespaces(json, offset, offset + length);
+        int end = offset + length;
+        while (end > start && isWhitespace(json[end - 1])) {
+            end--;
+        }
+        if (start == end) {
+            throw error("No content to parse", start);
+        }
+        if (json[start] != '{' && json[start] != '[' && skipValue(json, start, end) != end) {
+            throw error("Unexpected content after the json value", start);
+        }
+        return value(json, start, end, options.sharedStringsMaxLength());
+    }
+
+    // strings of at most sharedLength chars come from the shared cache, 0 means never
+    private static JsValue value(byte[] json, int start, int end, int sharedLength) {
+        switch (json[start]) {
+            case '{':
+                if (end - start == 2 && json[start + 1] == '}') {
+                    return JsObject.EMPTY;
+                }
+                return new LazyJsObject(json, start, end, sharedLength);
+            case '[':
+                if (end - start == 2 && json[start + 1] == ']') {
+                    return JsArray.EMPTY;
+                }
+                return new LazyJsArray(json, start, end, sharedLength);
+            case '"':
+                if (!contains(json, start + 1, end - 1, (byte) '\\')) {
+                    int length = end - start - 2;
+                    // a string never has more chars than UTF-8 bytes, only longer ones need to be decoded to count
+                    if (sharedLength > 0 && length <= sharedLength) {
+                        return SharedStrings.of(json, start + 1, length);
+                    }
+                    String value = new String(json, start + 1, length, StandardCharsets.UTF_8);
+                    if (sharedLength > 0 && value.length() <= sharedLength) {
+                        return SharedStrings.of(value);
+                    }
+                    return JsString.apply(value);
+                }
+                break;
+            case 't':
+                if (matches(json, start, end, "true")) {
+                    return JsBoolean.TRUE;
+                }
+                break;
+            case 'f':
+                if (matches(json, start, end, "false")) {
+                    return JsBoolean.FALSE;
+                }
+                break;
+            case 'n':
+                if (matches(json, start, end, "null")) {
+                    return JsNull.JSNULL_INSTANCE;
+                }
+                break;
+            default:
+                JsNumber number = smallInteger(json, start, end);
+                if (number != null) {
+                    return number;
+                }
+        }
+        // escaped strings, decimals, big numbers and invalid content
+        return Jackson.parseJsValue(json, start, end - start);
+    }
+
+    private static JsNumber smallInteger(byte[] json, int start, int end) {
+        int i = json[start] == '-' ? start + 1 : start;
+        int digits = end - i;
+        // at most 18 digits always fit in a long, a leading zero is only valid alone
+        if (digits == 0 || digits > 18 || (json[i] == '0' && digits > 1)) {
+            return null;
+        }
+        long value = 0L;
+        for (; i < end; i++) {
+            int digit = json[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return null;
+            }
+            value = value * 10 + digit;
+        }
+        return JsNumber.valueOf(json[start] == '-' ? -value : value);
+    }
+
+    private static ArrayMap indexObject(byte[] json, int start, int end, int sharedLength) {
+        if (json[end - 1] != '}') {
+            throw error("Unterminated object", start);
+        }
+        int limit = end - 1;
+        String[] keys = new String[8];
+        int[] starts = new int[8];
+        int[] ends = new int[8];
+        int size = 0;
+        java.util.Map<String, Integer> positions = null;
+        int pos = skipWhitespaces(json, start + 1, limit);
+        while (pos < limit) {
+            if (json[pos] != '"') {
+                throw error("Expected a field name", pos);
+            }
+            int keyEnd = skipString(json, pos, limit);
+            String key = decodeKey(json, pos, keyEnd);
+            pos = skipWhitespaces(json, keyEnd, limit);
+            if (pos == limit || json[pos] != ':') {
+                throw error("Expected ':' after a field name", pos);
+            }
+            int valueStart = skipWhitespaces(json, pos + 1, limit);
+            int valueEnd = skipValue(json, valueStart, limit);
+            // the last value wins for a duplicated key, the key keeps its first position
+            int existing = -1;
+            if (positions != null) {
+                Integer position = positions.get(key);
+                existing = position == null ? -1 : position;
+            } else {
+                for (int i = 0; i < size; i++) {
+                    if (keys[i].equals(key)) {
+                        existing = i;
+                        break;
+                    }
+                }
+            }
+            if (existing >= 0) {
+                starts[existing] = valueStart;
+                ends[existing] = valueEnd;
+            } else {
+                if (size == keys.length) {
+                    keys = Arrays.copyOf(keys, size * 2);
+                    starts = Arrays.copyOf(starts, size * 2);
+                    ends = Arrays.copyOf(ends, size * 2);
+                }
+                keys[size] = key;
+                starts[size] = valueStart;
+                ends[size] = valueEnd;
+                if (positions != null) {
+                    positions.put(key, size);
+                } else if (size == ArrayMap.MAX_SIZE) {
+                    // linear duplicate checks would be quadratic on large objects
+                    positions = new java.util.HashMap<>();
+                    for (int i = 0; i <= size; i++) {
+                        positions.put(keys[i], i);
+                    }
+                }
+                size++;
+            }
+            pos = skipWhitespaces(json, valueEnd, limit);
+            if (pos < limit) {
+                if (json[pos] != ',') {
+                    throw error("Expected ',' or '}'", pos);
+                }
+                pos = skipWhitespaces(json, pos + 1, limit);
+                if (pos == limit) {
+                    throw error("Expected a field name", pos);
+                }
+            }
+        }
+        if (size < keys.length) {
+            keys = Arrays.copyOf(keys, size);
+        }
+        return ArrayMap.lazy(keys, new Slices(json, starts, ends, sharedLength), positions);
+    }
+
+    private static LazySeq indexArray(byte[] json, int start, int end, int sharedLength) {
+        if (json[end - 1] != ']') {
+            throw error("Unterminated array", start);
+        }
+        int limit = end - 1;
+        int[] starts = new int[8];
+        int[] ends = new int[8];
+        int size = 0;
+        int pos = skipWhitespaces(json, start + 1, limit);
+        while (pos < limit) {
+            int valueEnd = skipValue(json, pos, limit);
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            starts[size] = pos;
+            ends[size] = valueEnd;
+            size++;
+            pos = skipWhitespaces(json, valueEnd, limit);
+            if (pos < limit) {
+                if (json[pos] != ',') {
+                    throw error("Expected ',' or ']'", pos);
+                }
+                pos = skipWhitespaces(json, pos + 1, limit);
+                if (pos == limit) {
+                    throw error("Expected a value", pos);
+                }
+            }
+        }
+        return new LazySeq(new Slices(json, starts, ends, sharedLength), size);
+    }
+
+    /**
+     * @return the position right after the value starting at pos
+     */
+    private static int skipValue(byte[] json, int pos, int limit) {
+        if (pos >= limit) {
+            throw error("Expected a value", pos);
+        }
+        byte b = json[pos];
+        if (b == '"') {
+            return skipString(json, pos, limit);
+        }
+        if (b == '{' || b == '[') {
+            int depth = 0;
+            // bit n is set when the bracket opened at depth n is an object, deeper levels are rare
+            long objects = 0L;
+            long[] deeperObjects = null;
+            int i = pos;
+            while (i < limit) {
+                byte c = json[i];
+                if (c == '"') {
+                    i = skipString(json, i, limit);
+                    continue;
+                }
+                if (c == '{' || c == '[') {
+                    long bit = 1L << depth;
+                    if (depth < 64) {
+                        objects = c == '{' ? objects | bit : objects & ~bit;
+                    } else {
+                        int word = (depth >>> 6) - 1;
+                        if (deeperObjects == null || word == deeperObjects.length) {
+                            deeperObjects = deeperObjects == null ? new long[4] : Arrays.copyOf(deeperObjects, word * 2);
+                        }
+                        deeperObjects[word] = c == '{' ? deeperObjects[word] | bit : deeperObjects[word] & ~bit;
+                    }
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                    long bit = 1L << depth;
+                    boolean object = depth < 64 ? (objects & bit) != 0 : (deeperObjects[(depth >>> 6) - 1] & bit) != 0;
+                    if (object != (c == '}')) {
+                        throw error("Unexpected '" + (char) c + "'", i);
+                    }
+                    if (depth == 0) {
+                        return i + 1;
+                    }
+                }
+                i++;
+            }
+            throw error(b == '{' ? "Unterminated object" : "Unterminated array", pos);
+        }
+        int i = pos;
+        while (i < limit) {
+            byte c = json[i];
+            if (c == ',' || c == '}' || c == ']' || c == ':' || isWhitespace(c)) {
+                break;
+            }
+            i++;
+        }
+        if (i == pos) {
+            throw error("Unexpected character '" + (char) b + "'", pos);
+        }
+        return i;
+    }
+
+    /**
+     * @return the position right after the json value starting at pos if it is valid and has no whitespaces,
+     *         -1 otherwise
+     */
+    private static int compactEnd(byte[] json, int pos, int limit) {
+        if (pos >= limit) {
+            return -1;
+        }
+        switch (json[pos]) {
+            case '{':
+                pos++;
+                if (pos < limit && json[pos] == '}') {
+                    return pos + 1;
+                }
+                while (pos < limit && json[pos] == '"') {
+                    pos = compactStringEnd(json, pos, limit);
+                    if (pos < 0 || pos >= limit || json[pos] != ':') {
+                        return -1;
+                    }
+                    pos = compactEnd(json, pos + 1, limit);
+                    if (pos < 0 || pos >= limit) {
+                        return -1;
+                    }
+                    if (json[pos] == '}') {
+                        return pos + 1;
+                    }
+                    if (json[pos] != ',') {
+                        return -1;
+                    }
+                    pos++;
+                }
+                return -1;
+            case '[':
+                pos++;
+                if (pos < limit && json[pos] == ']') {
+                    return pos + 1;
+                }
+                while (pos < limit) {
+                    pos = compactEnd(json, pos, limit);
+                    if (pos < 0 || pos >= limit) {
+                        return -1;
+                    }
+                    if (json[pos] == ']') {
+                        return pos + 1;
+                    }
+                    if (json[pos] != ',') {
+                        return -1;
+                    }
+                    pos++;
+                }
+                return -1;
+            case '"':
+                return compactStringEnd(json, pos, limit);
+            case 't':
+                return pos + 4 <= limit && matches(json, pos, pos + 4, "true") ? pos + 4 : -1;
+            case 'f':
+                return pos + 5 <= limit && matches(json, pos, pos + 5, "false") ? pos + 5 : -1;
+            case 'n':
+                return pos + 4 <= limit && matches(json, pos, pos + 4, "null") ? pos + 4 : -1;
+            default:
+                return numberEnd(json, pos, limit);
+        }
+    }
+
+    // -1 for unescaped control chars and invalid escapes
+    private static int compactStringEnd(byte[] json, int pos, int limit) {
+        int i = pos + 1;
+        while (i < limit) {
+            byte c = json[i];
+            if (c == '"') {
+                return i + 1;
+            }
+            if (c >= 0 && c < 0x20) {
+                return -1;
+            }
+            if (c != '\\') {
+                i++;
+            } else if (i + 1 < limit && json[i + 1] == 'u') {
+                for (int h = i + 2; h < i + 6; h++) {
+                    if (h >= limit || Character.digit(json[h], 16) < 0) {
+                        return -1;
+                    }
+                }
+                i += 6;
+            } else if (i + 1 < limit && "\"\\/bfnrt".indexOf(json[i + 1]) >= 0) {
+                i += 2;
+            } else {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static int numberEnd(byte[] json, int pos, int limit) {
+        int i = json[pos] == '-' ? pos + 1 : pos;
+        if (i < limit && json[i] == '0') {
+            i++;
+        } else {
+            int digits = i;
+            i = digitsEnd(json, i, limit);
+            if (i == digits) {
+                return -1;
+            }
+        }
+        if (i < limit && json[i] == '.') {
+            int digits = i + 1;
+            i = digitsEnd(json, digits, limit);
+            if (i == digits) {
+                return -1;
+            }
+        }
+        if (i < limit && (json[i] == 'e' || json[i] == 'E')) {
+            i++;
+            if (i < limit && (json[i] == '+' || json[i] == '-')) {
+                i++;
+            }
+            int digits = i;
+            i = digitsEnd(json, i, limit);
+            if (i == digits) {
+                return -1;
+            }
+        }
+        return i;
+    }
+
+    private static int digitsEnd(byte[] json, int pos, int limit) {
+        while (pos < limit && json[pos] >= '0' && json[pos] <= '9') {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int skipString(byte[] json, int pos, int limit) {
+        int i = pos + 1;
+        while (i < limit) {
+            byte b = json[i];
+            if (b == '"') {
+                return i + 1;
+            }
+            i += b == '\\' ? 2 : 1;
+        }
+        throw error("Unterminated string", pos);
+    }
+
+    // keys are shared between documents, Jackson does the same with its symbol table
+    private static String decodeKey(byte[] json, int start, int end) {
+        if (contains(json, start + 1, end - 1, (byte) '\\')) {
+            return decodeString(json, start, end);
+        }
+        return FieldKeys.of(json, start + 1, end - 1);
+    }
+
+    private static String decodeString(byte[] json, int start, int end) {
+        if (contains(json, start + 1, end - 1, (byte) '\\')) {
+            return ((JsString) Jackson.parseJsValue(json, start, end - start)).value;
+        }
+        return new String(json, start + 1, end - start - 2, StandardCharsets.UTF_8);
+    }
+
+    private static int skipWhitespaces(byte[] json, int pos, int limit) {
+        while (pos < limit && isWhitespace(json[pos])) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private static boolean contains(byte[] json, int start, int end, byte b) {
+        for (int i = start; i < end; i++) {
+            if (json[i] == b) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(byte[] json, int start, int end, String literal) {
+        if (end - start != literal.length()) {
+            return false;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (json[start + i] != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static RuntimeException error(String message, int position) {
+        return Throwables.propagate(new JsonParseException(null, message + " at byte " + position));
+    }
+}
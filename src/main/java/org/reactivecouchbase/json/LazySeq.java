@@ -0,0 +1,613 @@
+package org.reactivecouchbase.json;
+
+import io.vavr.PartialFunction;
+import io.vavr.Tuple2;
+import io.vavr.Tuple3;
+import io.vavr.collection.Array;
+import io.vavr.collection.IndexedSeq;
+import io.vavr.collection.Iterator;
+import io.vavr.collection.Map;
+import io.vavr.collection.Seq;
+import io.vavr.control.Option;
+
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * The elements of an array indexed by {@link LazyJson}, each one is parsed from the raw json the first time it is
+ * accessed, so reading one element of a huge array does not build the others.
+ *
+ * Indexed access, iteration and size are implemented here. Other operations are delegated to the {@link Array} of all
+ * the elements, built on first use. Equality and hash code are the same as the other vavr sequences.
+ */
+final class LazySeq implements IndexedSeq<JsValue>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final LazyJson.Slices slices;
+    // a null element has not been parsed from the slices yet
+    private final JsValue[] elements;
+    // every element, built by the first delegated operation
+    private Array<JsValue> materialized;
+
+    LazySeq(LazyJson.Slices slices, int size) {
+        this.slices = slices;
+        this.elements = new JsValue[size];
+    }
+
+    @Override
+    public JsValue get(int index) {
+        if (index < 0 || index >= elements.length) {
+            throw new IndexOutOfBoundsException("get(" + index + ")");
+        }
+        JsValue value = elements[index];
+        if (value == null) {
+            // racy but harmless, every thread parses an equal immutable value
+            value = slices.valueAt(index);
+            elements[index] = value;
+        }
+        return value;
+    }
+
+    @Override
+    public int length() {
+        return elements.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return elements.length == 0;
+    }
+
+    @Override
+    public JsValue head() {
+        if (elements.length == 0) {
+            throw new NoSuchElementException("head of empty Array");
+        }
+        return get(0);
+    }
+
+    @Override
+    public JsValue last() {
+        if (elements.length == 0) {
+            throw new NoSuchElementException("last of empty Array");
+        }
+        return get(elements.length - 1);
+    }
+
+    @Override
+    public Iterator<JsValue> iterator() {
+        return new Iterator<JsValue>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < elements.length;
+            }
+
+            @Override
+            public JsValue next() {
+                if (index >= elements.length) {
+                    throw new NoSuchElementException();
+                }
+                return LazySeq.this.get(index++);
+            }
+        };
+    }
+
+    @Override
+    public boolean hasDefiniteSize() {
+        return true;
+    }
+
+    @Override
+    public boolean isAsync() {
+        return false;
+    }
+
+    @Override
+    public boolean isLazy() {
+        return false;
+    }
+
+    @Override
+    public boolean isTraversableAgain() {
+        return true;
+    }
+
+    @Override
+    public String stringPrefix() {
+        return "Array";
+    }
+
+    private Array<JsValue> materialized() {
+        Array<JsValue> array = materialized;
+        if (array == null) {
+            JsValue[] values = new JsValue[elements.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = get(i);
+            }
+            array = Array.of(values);
+            materialized = array;
+        }
+        return array;
+    }
+
+    private Object writeReplace() {
+        return materialized();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || materialized().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return materialized().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return materialized().toString();
+    }
+
+    // operations below are rare on json arrays and are delegated to the array of every element
+
+    @Override
+    public IndexedSeq<JsValue> appendAll(Iterable<? extends JsValue> elements) {
+        return materialized().appendAll(elements);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> append(JsValue element) {
+        return materialized().append(element);
+    }
+
+    @Override
+    public java.util.List<JsValue> asJavaMutable() {
+        return materialized().asJavaMutable();
+    }
+
+    @Override
+    public IndexedSeq<JsValue> asJavaMutable(Consumer<? super java.util.List<JsValue>> action) {
+        return materialized().asJavaMutable(action);
+    }
+
+    @Override
+    public java.util.List<JsValue> asJava() {
+        return materialized().asJava();
+    }
+
+    @Override
+    public IndexedSeq<JsValue> asJava(Consumer<? super java.util.List<JsValue>> action) {
+        return materialized().asJava(action);
+    }
+
+    @Override
+    public <R> IndexedSeq<R> collect(PartialFunction<? super JsValue, ? extends R> partialFunction) {
+        return materialized().collect(partialFunction);
+    }
+
+    @Override
+    public IndexedSeq<? extends IndexedSeq<JsValue>> combinations() {
+        return materialized().combinations();
+    }
+
+    @Override
+    public IndexedSeq<? extends IndexedSeq<JsValue>> combinations(int k) {
+        return materialized().combinations(k);
+    }
+
+    @Override
+    public Iterator<? extends IndexedSeq<JsValue>> crossProduct(int power) {
+        return materialized().crossProduct(power);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> distinctBy(Comparator<? super JsValue> comparator) {
+        return materialized().distinctBy(comparator);
+    }
+
+    @Override
+    public <U> IndexedSeq<JsValue> distinctBy(Function<? super JsValue, ? extends U> mapper) {
+        return materialized().distinctBy(mapper);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> distinct() {
+        return materialized().distinct();
+    }
+
+    @Override
+    public IndexedSeq<JsValue> dropRightUntil(Predicate<? super JsValue> predicate) {
+        return materialized().dropRightUntil(predicate);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> dropRightWhile(Predicate<? super JsValue> predicate) {
+        return materialized().dropRightWhile(predicate);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> dropRight(int n) {
+        return materialized().dropRight(n);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> dropUntil(Predicate<? super JsValue> predicate) {
+        return materialized().dropUntil(predicate);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> dropWhile(Predicate<? super JsValue> predicate) {
+        return materialized().dropWhile(predicate);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> drop(int n) {
+        return materialized().drop(n);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> filter(Predicate<? super JsValue> predicate) {
+        return materialized().filter(predicate);
+    }
+
+    @Override
+    public <U> IndexedSeq<U> flatMap(Function<? super JsValue, ? extends Iterable<? extends U>> mapper) {
+        return materialized().flatMap(mapper);
+    }
+
+    @Override
+    public <C> Map<C, ? extends IndexedSeq<JsValue>> groupBy(Function<? super JsValue, ? extends C> mapper) {
+        return materialized().groupBy(mapper);
+    }
+
+    @Override
+    public Iterator<? extends IndexedSeq<JsValue>> grouped(int size) {
+        return materialized().grouped(size);
+    }
+
+    @Override
+    public int indexOf(JsValue element, int from) {
+        return materialized().indexOf(element, from);
+    }
+
+    @Override
+    public Option<? extends IndexedSeq<JsValue>> initOption() {
+        return materialized().initOption();
+    }
+
+    @Override
+    public IndexedSeq<JsValue> init() {
+        return materialized().init();
+    }
+
+    @Override
+    public IndexedSeq<JsValue> insertAll(int index, Iterable<? extends JsValue> elements) {
+        return materialized().insertAll(index, elements);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> insert(int index, JsValue element) {
+        return materialized().insert(index, element);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> intersperse(JsValue element) {
+        return materialized().intersperse(element);
+    }
+
+    @Override
+    public int lastIndexOf(JsValue element, int end) {
+        return materialized().lastIndexOf(element, end);
+    }
+
+    @Override
+    public Seq<JsValue> leftPadTo(int length, JsValue element) {
+        return materialized().leftPadTo(length, element);
+    }
+
+    @Override
+    public <U> IndexedSeq<U> map(Function<? super JsValue, ? extends U> mapper) {
+        return materialized().map(mapper);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> orElse(Iterable<? extends JsValue> elements) {
+        return materialized().orElse(elements);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> orElse(Supplier<? extends Iterable<? extends JsValue>> supplier) {
+        return materialized().orElse(supplier);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> padTo(int length, JsValue element) {
+        return materialized().padTo(length, element);
+    }
+
+    @Override
+    public Tuple2<? extends IndexedSeq<JsValue>, ? extends IndexedSeq<JsValue>> partition(Predicate<? super JsValue> predicate) {
+        return materialized().partition(predicate);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> patch(int from, Iterable<? extends JsValue> elements, int replaced) {
+        return materialized().patch(from, elements, replaced);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> peek(Consumer<? super JsValue> action) {
+        return materialized().peek(action);
+    }
+
+    @Override
+    public IndexedSeq<? extends IndexedSeq<JsValue>> permutations() {
+        return materialized().permutations();
+    }
+
+    @Override
+    public IndexedSeq<JsValue> prependAll(Iterable<? extends JsValue> elements) {
+        return materialized().prependAll(elements);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> prepend(JsValue element) {
+        return materialized().prepend(element);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> reject(Predicate<? super JsValue> predicate) {
+        return materialized().reject(predicate);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> removeAll(JsValue element) {
+        return materialized().removeAll(element);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> removeAll(Iterable<? extends JsValue> elements) {
+        return materialized().removeAll(elements);
+    }
+
+    @Deprecated
+    @Override
+    public IndexedSeq<JsValue> removeAll(Predicate<? super JsValue> predicate) {
+        return materialized().removeAll(predicate);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> removeAt(int index) {
+        return materialized().removeAt(index);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> removeFirst(Predicate<JsValue> predicate) {
+        return materialized().removeFirst(predicate);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> removeLast(Predicate<JsValue> predicate) {
+        return materialized().removeLast(predicate);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> remove(JsValue element) {
+        return materialized().remove(element);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> replaceAll(JsValue currentElement, JsValue newElement) {
+        return materialized().replaceAll(currentElement, newElement);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> replace(JsValue currentElement, JsValue newElement) {
+        return materialized().replace(currentElement, newElement);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> retainAll(Iterable<? extends JsValue> elements) {
+        return materialized().retainAll(elements);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> reverse() {
+        return materialized().reverse();
+    }
+
+    @Override
+    public IndexedSeq<JsValue> rotateLeft(int n) {
+        return materialized().rotateLeft(n);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> rotateRight(int n) {
+        return materialized().rotateRight(n);
+    }
+
+    @Override
+    public <U> IndexedSeq<U> scanLeft(U zero, BiFunction<? super U, ? super JsValue, ? extends U> operation) {
+        return materialized().scanLeft(zero, operation);
+    }
+
+    @Override
+    public <U> IndexedSeq<U> scanRight(U zero, BiFunction<? super JsValue, ? super U, ? extends U> operation) {
+        return materialized().scanRight(zero, operation);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> scan(JsValue zero, BiFunction<? super JsValue, ? super JsValue, ? extends JsValue> operation) {
+        return materialized().scan(zero, operation);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> shuffle() {
+        return materialized().shuffle();
+    }
+
+    @Override
+    public IndexedSeq<JsValue> slice(int beginIndex, int endIndex) {
+        return materialized().slice(beginIndex, endIndex);
+    }
+
+    @Override
+    public Iterator<? extends IndexedSeq<JsValue>> slideBy(Function<? super JsValue, ?> mapper) {
+        return materialized().slideBy(mapper);
+    }
+
+    @Override
+    public Iterator<? extends IndexedSeq<JsValue>> sliding(int size, int step) {
+        return materialized().sliding(size, step);
+    }
+
+    @Override
+    public Iterator<? extends IndexedSeq<JsValue>> sliding(int size) {
+        return materialized().sliding(size);
+    }
+
+    @Override
+    public <U> IndexedSeq<JsValue> sortBy(Comparator<? super U> comparator, Function<? super JsValue, ? extends U> mapper) {
+        return materialized().sortBy(comparator, mapper);
+    }
+
+    @Override
+    public <U extends Comparable<? super U>> IndexedSeq<JsValue> sortBy(Function<? super JsValue, ? extends U> mapper) {
+        return materialized().sortBy(mapper);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> sorted() {
+        return materialized().sorted();
+    }
+
+    @Override
+    public IndexedSeq<JsValue> sorted(Comparator<? super JsValue> comparator) {
+        return materialized().sorted(comparator);
+    }
+
+    @Override
+    public Tuple2<? extends IndexedSeq<JsValue>, ? extends IndexedSeq<JsValue>> span(Predicate<? super JsValue> predicate) {
+        return materialized().span(predicate);
+    }
+
+    @Override
+    public Tuple2<? extends Seq<JsValue>, ? extends Seq<JsValue>> splitAtInclusive(Predicate<? super JsValue> predicate) {
+        return materialized().splitAtInclusive(predicate);
+    }
+
+    @Override
+    public Tuple2<? extends Seq<JsValue>, ? extends Seq<JsValue>> splitAt(int n) {
+        return materialized().splitAt(n);
+    }
+
+    @Override
+    public Tuple2<? extends Seq<JsValue>, ? extends Seq<JsValue>> splitAt(Predicate<? super JsValue> predicate) {
+        return materialized().splitAt(predicate);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> subSequence(int beginIndex, int endIndex) {
+        return materialized().subSequence(beginIndex, endIndex);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> subSequence(int beginIndex) {
+        return materialized().subSequence(beginIndex);
+    }
+
+    @Override
+    public Option<? extends IndexedSeq<JsValue>> tailOption() {
+        return materialized().tailOption();
+    }
+
+    @Override
+    public IndexedSeq<JsValue> tail() {
+        return materialized().tail();
+    }
+
+    @Override
+    public IndexedSeq<JsValue> takeRightUntil(Predicate<? super JsValue> predicate) {
+        return materialized().takeRightUntil(predicate);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> takeRightWhile(Predicate<? super JsValue> predicate) {
+        return materialized().takeRightWhile(predicate);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> takeRight(int n) {
+        return materialized().takeRight(n);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> takeUntil(Predicate<? super JsValue> predicate) {
+        return materialized().takeUntil(predicate);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> takeWhile(Predicate<? super JsValue> predicate) {
+        return materialized().takeWhile(predicate);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> take(int n) {
+        return materialized().take(n);
+    }
+
+    @Override
+    public <T1, T2, T3> Tuple3<? extends IndexedSeq<T1>, ? extends IndexedSeq<T2>, ? extends IndexedSeq<T3>> unzip3(Function<? super JsValue, Tuple3<? extends T1, ? extends T2, ? extends T3>> mapper) {
+        return materialized().unzip3(mapper);
+    }
+
+    @Override
+    public <T1, T2> Tuple2<? extends IndexedSeq<T1>, ? extends IndexedSeq<T2>> unzip(Function<? super JsValue, Tuple2<? extends T1, ? extends T2>> mapper) {
+        return materialized().unzip(mapper);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> update(int index, JsValue element) {
+        return materialized().update(index, element);
+    }
+
+    @Override
+    public IndexedSeq<JsValue> update(int index, Function<? super JsValue, ? extends JsValue> mapper) {
+        return materialized().update(index, mapper);
+    }
+
+    @Override
+    public <U> IndexedSeq<Tuple2<JsValue, U>> zipAll(Iterable<? extends U> that, JsValue thisElem, U thatElem) {
+        return materialized().zipAll(that, thisElem, thatElem);
+    }
+
+    @Override
+    public IndexedSeq<Tuple2<JsValue, Integer>> zipWithIndex() {
+        return materialized().zipWithIndex();
+    }
+
+    @Override
+    public <U> IndexedSeq<U> zipWithIndex(BiFunction<? super JsValue, ? super Integer, ? extends U> operation) {
+        return materialized().zipWithIndex(operation);
+    }
+
+    @Override
+    public <U, R> IndexedSeq<R> zipWith(Iterable<? extends U> that, BiFunction<? super JsValue, ? super U, ? extends R> operation) {
+        return materialized().zipWith(that, operation);
+    }
+
+    @Override
+    public <U> IndexedSeq<Tuple2<JsValue, U>> zip(Iterable<? extends U> that) {
+        return materialized().zip(that);
+    }
+}
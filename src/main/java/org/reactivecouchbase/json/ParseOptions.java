@@ -0,0 +1,53 @@
+package org.reactivecouchbase.json;
+
+/**
+ * Options of the parsing methods of {@link Json}. Options are immutable, each method returns new options.
+ *
+ * <pre>
+ * JsValue document = Json.parse(bytes, ParseOptions.defaults().shareStrings(16));
+ * </pre>
+ */
+public final class ParseOptions {
+
+    public static final int DEFAULT_SHARED_STRINGS_MAX_LENGTH = 32;
+
+    private static final ParseOptions DEFAULTS = new ParseOptions(0);
+
+    private final int sharedStringsMaxLength;
+
+    private ParseOptions(int sharedStringsMaxLength) {
+        this.sharedStringsMaxLength = sharedStringsMaxLength;
+    }
+
+    /**
+     * @return the options used by the parsing methods without options
+     */
+    public static ParseOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * String values of at most maxLength chars are taken from a bounded cache shared by every parsed document, so
+     * documents repeating enum like values (status, currency, country code, ...) hold the same instance instead of
+     * their own copy. Worth it for documents kept in memory, 0 disables it.
+     */
+    public ParseOptions shareStrings(int maxLength) {
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("Max length can't be negative !");
+        }
+        return new ParseOptions(maxLength);
+    }
+
+    public ParseOptions shareStrings() {
+        return shareStrings(DEFAULT_SHARED_STRINGS_MAX_LENGTH);
+    }
+
+    public int sharedStringsMaxLength() {
+        return sharedStringsMaxLength;
+    }
+
+    @Override
+    public String toString() {
+        return "ParseOptions(sharedStringsMaxLength=" + sharedStringsMaxLength + ")";
+    }
+}
@@ -0,0 +1,101 @@
+package org.reactivecouchbase.json;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A bounded cache of short string values, so documents repeating enum like values share the same {@link JsString}
+ * instead of holding their own copy. See {@link ParseOptions#shareStrings(int)}.
+ *
+ * The values are indexed by the hash of their chars, whatever they are read from, so a value parsed by Jackson and
+ * the same value parsed lazily share the same bucket. A hit does not allocate, see {@link SlotCache}.
+ */
+final class SharedStrings {
+
+    private static final SlotCache<JsString> VALUES = new SlotCache<>(4096);
+
+    private SharedStrings() {
+    }
+
+    static JsString of(char[] chars, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int bucket = VALUES.bucket(hash);
+        for (int slot = bucket; slot < bucket + SlotCache.WAYS; slot++) {
+            JsString shared = VALUES.get(slot);
+            if (shared == null) {
+                break;
+            }
+            if (matches(shared.value, chars, offset, length)) {
+                return shared;
+            }
+        }
+        return VALUES.put(bucket, new JsString(new String(chars, offset, length)));
+    }
+
+    /**
+     * @return the value encoded in UTF-8 without escapes between offset (inclusive) and offset + length (exclusive)
+     */
+    static JsString of(byte[] utf8, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            byte b = utf8[i];
+            if (b < 0) {
+                // not ascii, the chars differ from the bytes
+                return of(new String(utf8, offset, length, StandardCharsets.UTF_8));
+            }
+            hash = 31 * hash + b;
+        }
+        int bucket = VALUES.bucket(hash);
+        for (int slot = bucket; slot < bucket + SlotCache.WAYS; slot++) {
+            JsString shared = VALUES.get(slot);
+            if (shared == null) {
+                break;
+            }
+            if (matches(shared.value, utf8, offset, length)) {
+                return shared;
+            }
+        }
+        return VALUES.put(bucket, new JsString(new String(utf8, offset, length, StandardCharsets.ISO_8859_1)));
+    }
+
+    static JsString of(String value) {
+        // same hash as the chars, String.hashCode is 31 * h + c too
+        int bucket = VALUES.bucket(value.hashCode());
+        for (int slot = bucket; slot < bucket + SlotCache.WAYS; slot++) {
+            JsString shared = VALUES.get(slot);
+            if (shared == null) {
+                break;
+            }
+            if (shared.value.equals(value)) {
+                return shared;
+            }
+        }
+        return VALUES.put(bucket, new JsString(value));
+    }
+
+    private static boolean matches(String value, char[] chars, int offset, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(String value, byte[] ascii, int offset, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) != ascii[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
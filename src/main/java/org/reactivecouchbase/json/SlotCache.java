@@ -0,0 +1,79 @@
+package org.reactivecouchbase.json;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A fixed size table of shared instances indexed by a hash, used by the caches of keys, values and paths.
+ *
+ * The table is 4-way set associative : a hash maps to a bucket of {@link #WAYS} consecutive slots, so up to four
+ * entries whose hashes collide stay cached together. A new entry takes an empty slot of its bucket, or replaces the
+ * entries of a full bucket in turn. Lookups never lock and the memory used never grows, whatever the number of
+ * distinct entries. Callers scan the slots of the bucket and check that an entry is the one they look for :
+ *
+ * <pre>
+ * int bucket = cache.bucket(hash);
+ * for (int slot = bucket; slot &lt; bucket + SlotCache.WAYS; slot++) {
+ *     T entry = cache.get(slot);
+ *     if (entry == null) break;
+ *     if (matches(entry)) return entry;
+ * }
+ * return cache.put(bucket, create());
+ * </pre>
+ */
+final class SlotCache<T> {
+
+    static final int WAYS = 4;
+
+    private static final int WAYS_SHIFT = 2;
+
+    private final AtomicReferenceArray<T> slots;
+    private final int bucketMask;
+    // the next slot replaced in each full bucket, racy as a lost update only changes which entry is replaced
+    private final byte[] victims;
+
+    /**
+     * @param size the number of slots, a power of two of at least {@link #WAYS}
+     */
+    SlotCache(int size) {
+        if (Integer.bitCount(size) != 1 || size < WAYS) {
+            throw new IllegalArgumentException("Size must be a power of two of at least " + WAYS + " !");
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.bucketMask = (size >>> WAYS_SHIFT) - 1;
+        this.victims = new byte[size >>> WAYS_SHIFT];
+    }
+
+    /**
+     * @return the first slot of the bucket of the hash
+     */
+    int bucket(int hash) {
+        // the high bits are spread as the low bits alone would index small tables
+        return ((hash ^ (hash >>> 16)) & bucketMask) << WAYS_SHIFT;
+    }
+
+    /**
+     * @return the entry of the slot, null if the slot is empty. Slots of a bucket are filled in order, so the
+     *         following slots of an empty one are empty too.
+     */
+    T get(int slot) {
+        return slots.get(slot);
+    }
+
+    /**
+     * @return the entry, now in a slot of the bucket
+     */
+    T put(int bucket, T entry) {
+        // no ordering is needed as entries are immutable, a lost race only means another entry stays in the slot
+        for (int slot = bucket; slot < bucket + WAYS; slot++) {
+            if (slots.get(slot) == null) {
+                slots.lazySet(slot, entry);
+                return entry;
+            }
+        }
+        int index = bucket >>> WAYS_SHIFT;
+        int victim = victims[index];
+        victims[index] = (byte) ((victim + 1) & (WAYS - 1));
+        slots.lazySet(bucket + victim, entry);
+        return entry;
+    }
+}
@@ -0,0 +1,70 @@
+package org.reactivecouchbase.json;
+
+final class Stringifier {
+
+    private static final char[] HEX_CHARS = "0123456789ABCDEF".toCharArray();
+
+    // Same escaping rules as Jackson : 0 means no escaping, -1 means \\u00XX, anything else is the escaped char
+    private static final int[] ESCAPES = new int[128];
+
+    // Buffers bigger than that are not kept around once a document has been written
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFERS = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    static {
+        for (int i = 0; i < 32; i++) {
+            ESCAPES[i] = -1;
+        }
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\t'] = 't';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\r'] = 'r';
+    }
+
+    private Stringifier() {
+    }
+
+    static String stringify(JsValue value) {
+        StringBuilder out = BUFFERS.get();
+        out.setLength(0);
+        try {
+            value.toJsonString(out);
+            return out.toString();
+        } finally {
+            if (out.capacity() > MAX_RETAINED_CAPACITY) {
+                BUFFERS.remove();
+            }
+        }
+    }
+
+    static void appendQuoted(StringBuilder out, String value) {
+        out.append('"');
+        int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 128 || ESCAPES[c] == 0) {
+                continue;
+            }
+            if (i > start) {
+                out.append(value, start, i);
+            }
+            start = i + 1;
+            int escape = ESCAPES[c];
+            out.append('\\');
+            if (escape > 0) {
+                out.append((char) escape);
+            } else {
+                out.append('u').append('0').append('0').append(HEX_CHARS[c >> 4]).append(HEX_CHARS[c & 0xF]);
+            }
+        }
+        if (length > start) {
+            out.append(value, start, length);
+        }
+        out.append('"');
+    }
+}
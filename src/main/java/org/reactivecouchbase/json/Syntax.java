@@ -1,7 +1,5 @@
 package org.reactivecouchbase.json;
 
-import io.vavr.Tuple;
-import io.vavr.collection.HashMap;
 import io.vavr.collection.Map;
 import io.vavr.control.Option;
 import org.joda.time.DateTime;
@@ -145,19 +143,19 @@ public class Syntax {
     }
 
     public static JsString string(String value) {
-        return new JsString(value);
+        return JsString.apply(value);
     }
 
     public static JsBoolean bool(Boolean value) {
-        return new JsBoolean(value);
+        return JsBoolean.apply(value);
     }
 
     public static JsNumber number(Integer value) {
-        return new JsNumber(value);
+        return JsNumber.apply(value);
     }
 
     public static JsNumber number(Long value) {
-        return new JsNumber(value);
+        return JsNumber.apply(value);
     }
 
     public static JsNumber number(Double value) {
@@ -181,6 +179,6 @@ public class Syntax {
     }
 
     static Map<String, JsValue> asMap(String name, JsValue value) {
-        return HashMap.of(Tuple.of(name, value));
+        return ArrayMap.of(name, value);
     }
 }
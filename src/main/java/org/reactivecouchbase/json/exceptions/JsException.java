@@ -20,6 +20,10 @@ public class JsException extends RuntimeException {
         super(throwable);
     }
 
+    protected JsException(String s, Throwable throwable, boolean enableSuppression, boolean writableStackTrace) {
+        super(s, throwable, enableSuppression, writableStackTrace);
+    }
+
     public JsValue asJson() {
         return DefaultWriters.throwableAsJson(this, false);
     }
@@ -0,0 +1,52 @@
+package org.reactivecouchbase.json.exceptions;
+
+/**
+ * The value has the expected json type but does not satisfy a constraint (pattern, limit, predicate, ...).
+ */
+public class JsonConstraintError extends JsonReadError {
+
+    private final String constraint;
+    private final Object value;
+
+    /**
+     * @param constraint what the value failed, like <code>is below limit '18'</code>
+     * @param value      the value read
+     */
+    public JsonConstraintError(String constraint, Object value) {
+        this("", constraint, value);
+    }
+
+    public JsonConstraintError(String path, String constraint, Object value) {
+        super(path);
+        this.constraint = constraint;
+        this.value = value;
+    }
+
+    public Object value() {
+        return value;
+    }
+
+    /**
+     * @return the constraint the value failed
+     */
+    public String expected() {
+        return constraint;
+    }
+
+    /**
+     * @return the value read, as a string
+     */
+    public String actual() {
+        return String.valueOf(value);
+    }
+
+    @Override
+    protected JsonConstraintError withPath(String path) {
+        return new JsonConstraintError(path, constraint, value);
+    }
+
+    @Override
+    protected String describe() {
+        return "'" + value + "' " + constraint;
+    }
+}
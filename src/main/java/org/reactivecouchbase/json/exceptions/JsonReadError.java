@@ -0,0 +1,121 @@
+package org.reactivecouchbase.json.exceptions;
+
+import org.reactivecouchbase.json.JsKind;
+import org.reactivecouchbase.json.JsPair;
+import org.reactivecouchbase.json.JsValue;
+
+/**
+ * Error returned by the built-in readers when a value can't be read, with the path of the value in the document.
+ * Subclasses tell what was expected and what was actually found.
+ *
+ * Readers failing is part of the normal flow (optional fields, alternatives, validation), so these errors don't
+ * capture a stack trace and the message is only built when asked for. Stack traces can be captured while debugging by
+ * starting the JVM with <code>-Dorg.reactivecouchbase.json.errors.stacktraces=true</code>.
+ */
+public abstract class JsonReadError extends ValidationError {
+
+    public static final String STACK_TRACES_PROPERTY = "org.reactivecouchbase.json.errors.stacktraces";
+
+    static final boolean STACK_TRACES = Boolean.getBoolean(STACK_TRACES_PROPERTY);
+
+    private final String path;
+
+    protected JsonReadError(String path) {
+        this(path, STACK_TRACES);
+    }
+
+    protected JsonReadError(String path, boolean stackTrace) {
+        super(null, null, stackTrace, stackTrace);
+        this.path = path;
+    }
+
+    /**
+     * @return true if the errors capture their stack trace
+     */
+    public static boolean stackTraces() {
+        return STACK_TRACES;
+    }
+
+    /**
+     * @return the name of the json type of the value, JsObject, JsArray, JsString, ...
+     */
+    public static String kindOf(JsValue value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof JsPair) {
+            return "JsPair";
+        }
+        return nameOf(value.kind());
+    }
+
+    /**
+     * @return the name of the values of that kind, JsObject, JsArray, JsString, ...
+     */
+    public static String nameOf(JsKind kind) {
+        switch (kind) {
+            case OBJECT:
+                return "JsObject";
+            case ARRAY:
+                return "JsArray";
+            case STRING:
+                return "JsString";
+            case NUMBER:
+                return "JsNumber";
+            case BOOLEAN:
+                return "JsBoolean";
+            case NULL:
+                return "JsNull";
+            default:
+                return "JsUndefined";
+        }
+    }
+
+    /**
+     * @return the path of the value in the document, empty for the root value
+     */
+    public String path() {
+        return path;
+    }
+
+    /**
+     * @return the path of an item of an array, like {@code "[2]"}
+     */
+    public static String indexPath(int index) {
+        return "[" + index + "]";
+    }
+
+    /**
+     * @return the same error for the value found in field of its parent
+     */
+    public JsonReadError at(String field) {
+        return prefix(field);
+    }
+
+    /**
+     * @return the same error for the value found at index of its parent array, the path reads like a query selector,
+     *         {@code "[0].name"} or {@code "items[0][1]"}
+     */
+    public JsonReadError at(int index) {
+        return prefix(indexPath(index));
+    }
+
+    private JsonReadError prefix(String segment) {
+        if (path.isEmpty()) {
+            return withPath(segment);
+        }
+        return withPath(path.charAt(0) == '[' ? segment + path : segment + "." + path);
+    }
+
+    protected abstract JsonReadError withPath(String path);
+
+    protected abstract String describe();
+
+    @Override
+    public String getMessage() {
+        if (path.isEmpty()) {
+            return describe();
+        }
+        return describe() + " at '" + path + "'";
+    }
+}
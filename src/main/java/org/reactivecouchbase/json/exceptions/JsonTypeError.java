@@ -0,0 +1,74 @@
+package org.reactivecouchbase.json.exceptions;
+
+import org.reactivecouchbase.json.JsKind;
+import org.reactivecouchbase.json.JsValue;
+
+/**
+ * The value is not of the expected json type. Errors without path are preallocated for every couple of kinds.
+ */
+public class JsonTypeError extends JsonReadError {
+
+    private static final JsKind[] KINDS = JsKind.values();
+
+    private static final JsonTypeError[][] SHARED = new JsonTypeError[KINDS.length][KINDS.length];
+
+    static {
+        for (JsKind expected : KINDS) {
+            for (JsKind actual : KINDS) {
+                SHARED[expected.ordinal()][actual.ordinal()] = new JsonTypeError("", expected, actual, false);
+            }
+        }
+    }
+
+    private final JsKind expected;
+    private final JsKind actual;
+
+    /**
+     * An error to be thrown, which captures its stack trace like any exception.
+     */
+    public JsonTypeError(String path, JsKind expected, JsKind actual) {
+        this(path, expected, actual, true);
+    }
+
+    private JsonTypeError(String path, JsKind expected, JsKind actual, boolean stackTrace) {
+        super(path, stackTrace);
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    /**
+     * @return the error for a value that is not of the expected kind, shared unless stack traces are captured.
+     *         A missing (null) value is {@link JsKind#UNDEFINED}.
+     */
+    public static JsonTypeError of(JsKind expected, JsValue value) {
+        JsKind actual = value == null ? JsKind.UNDEFINED : value.kind();
+        if (STACK_TRACES) {
+            return new JsonTypeError("", expected, actual, true);
+        }
+        return SHARED[expected.ordinal()][actual.ordinal()];
+    }
+
+    /**
+     * @return the kind the reader expected
+     */
+    public JsKind expected() {
+        return expected;
+    }
+
+    /**
+     * @return the kind of the value the reader found
+     */
+    public JsKind actual() {
+        return actual;
+    }
+
+    @Override
+    protected JsonTypeError withPath(String path) {
+        return new JsonTypeError(path, expected, actual, STACK_TRACES);
+    }
+
+    @Override
+    protected String describe() {
+        return "Not a " + nameOf(expected) + " but a " + nameOf(actual);
+    }
+}
@@ -17,4 +17,8 @@ public class ValidationError extends JsException {
     public ValidationError(Throwable throwable) {
         super(throwable);
     }
+
+    protected ValidationError(String s, Throwable throwable, boolean enableSuppression, boolean writableStackTrace) {
+        super(s, throwable, enableSuppression, writableStackTrace);
+    }
 }
@@ -1,12 +1,16 @@
 package org.reactivecouchbase.json.mapping;
 
 import io.vavr.Tuple;
+import io.vavr.collection.Array;
 import io.vavr.collection.HashMap;
 import io.vavr.collection.Map;
 import io.vavr.collection.Seq;
 import io.vavr.control.Option;
 import org.joda.time.DateTime;
 import org.reactivecouchbase.json.*;
+import org.reactivecouchbase.json.exceptions.JsonConstraintError;
+import org.reactivecouchbase.json.exceptions.JsonReadError;
+import org.reactivecouchbase.json.exceptions.JsonTypeError;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -14,6 +18,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
 public class DefaultReaders {
 
@@ -27,8 +33,25 @@ public class DefaultReaders {
     public static <T> Reader<Seq<T>> seq(final Reader<T> reader) {
         return value -> {
             try {
-                JsArray array = value.as(JsArray.class);
-                return new JsSuccess<>(array.mapWith(reader));
+                if (value.kind() != JsKind.ARRAY) {
+                    return new JsError<>(JsonTypeError.of(JsKind.ARRAY, value));
+                }
+                JsArray array = (JsArray) value;
+                List<T> items = new ArrayList<>(array.size());
+                int index = 0;
+                for (JsValue item : array) {
+                    JsResult<T> result = item.read(reader);
+                    if (result.hasErrors()) {
+                        Throwable error = result.toError().firstError();
+                        if (error instanceof JsonReadError) {
+                            return new JsError<>(((JsonReadError) error).at(index));
+                        }
+                        return new JsError<>(error);
+                    }
+                    items.add(result.get());
+                    index++;
+                }
+                return new JsSuccess<>(Array.ofAll(items));
             } catch (Exception e) {
                 return new JsError<>(e);
             }
@@ -45,134 +68,137 @@ public class DefaultReaders {
     }
 
     public static final Reader<JsObject> JS_OBJECT_READER = value -> {
-        if (value.is(JsObject.class)) {
+        if (value.kind() == JsKind.OBJECT) {
             return new JsSuccess<>((JsObject) value);
         }
-        return new JsError<>(new IllegalAccessError("Not a JsObject"));
+        return new JsError<>(JsonTypeError.of(JsKind.OBJECT, value));
     };
     public static final Reader<JsArray> JS_ARRAY_READER = value -> {
-        if (value.is(JsArray.class)) {
+        if (value.kind() == JsKind.ARRAY) {
             return new JsSuccess<>((JsArray) value);
         }
-        return new JsError<>(new IllegalAccessError("Not a JsArray"));
+        return new JsError<>(JsonTypeError.of(JsKind.ARRAY, value));
     };
     public static final Reader<JsBoolean> JS_BOOLEAN_READER = value -> {
-        if (value.is(JsBoolean.class)) {
+        if (value.kind() == JsKind.BOOLEAN) {
             return new JsSuccess<>((JsBoolean) value);
         }
-        return new JsError<>(new IllegalAccessError("Not a JsBoolean"));
+        return new JsError<>(JsonTypeError.of(JsKind.BOOLEAN, value));
     };
     public static final Reader<JsPair> JS_PAIR_READER = value -> {
         if (value.is(JsPair.class)) {
             return new JsSuccess<>((JsPair) value);
         }
-        return new JsError<>(new IllegalAccessError("Not a JsPair"));
+        if (value.kind() != JsKind.OBJECT) {
+            return new JsError<>(JsonTypeError.of(JsKind.OBJECT, value));
+        }
+        return new JsError<>(new JsonConstraintError("is not a single field JsPair", value));
     };
     public static final Reader<JsNull> JS_NULL_READER = value -> {
-        if (value.is(JsNull.class)) {
+        if (value.kind() == JsKind.NULL) {
             return new JsSuccess<>((JsNull) value);
         }
-        return new JsError<>(new IllegalAccessError("Not a JsNull"));
+        return new JsError<>(JsonTypeError.of(JsKind.NULL, value));
     };
     public static final Reader<JsUndefined> JS_UNDEFINED_READER = value -> {
-        if (value.is(JsUndefined.class)) {
+        if (value.kind() == JsKind.UNDEFINED) {
             return new JsSuccess<>((JsUndefined) value);
         }
-        return new JsError<>(new IllegalAccessError("Not a JsUndefined"));
+        return new JsError<>(JsonTypeError.of(JsKind.UNDEFINED, value));
     };
     public static final Reader<JsNumber> JS_NUMBER_READER = value -> {
-        if (value.is(JsNumber.class)) {
+        if (value.kind() == JsKind.NUMBER) {
             return new JsSuccess<>((JsNumber) value);
         }
-        return new JsError<>(new IllegalAccessError("Not a JsNumber"));
+        return new JsError<>(JsonTypeError.of(JsKind.NUMBER, value));
     };
     public static final Reader<JsString> JS_STRING_READER = value -> {
-        if (value.is(JsString.class)) {
+        if (value.kind() == JsKind.STRING) {
             return new JsSuccess<>((JsString) value);
         }
-        return new JsError<>(new IllegalAccessError("Not a JsString"));
+        return new JsError<>(JsonTypeError.of(JsKind.STRING, value));
     };
     public static final Reader<Boolean> BOOLEAN_READER = value -> {
-        if (value.is(JsBoolean.class)) {
+        if (value.kind() == JsKind.BOOLEAN) {
             return new JsSuccess<>(((JsBoolean) value).value);
         }
-        return new JsError<>(new IllegalAccessError("Not a JsBoolean"));
+        return new JsError<>(JsonTypeError.of(JsKind.BOOLEAN, value));
     };
     public static final Reader<String> STRING_READER = value -> {
-        if (value.is(JsString.class)) {
+        if (value.kind() == JsKind.STRING) {
             return new JsSuccess<>(((JsString) value).value);
         }
-        return new JsError<>(new IllegalAccessError("Not a JsString"));
+        return new JsError<>(JsonTypeError.of(JsKind.STRING, value));
     };
     public static final Reader<Double> DOUBLE_READER = value -> {
-        if (value.is(JsNumber.class)) {
-            return new JsSuccess<>(((JsNumber) value).value.doubleValue());
+        if (value.kind() == JsKind.NUMBER) {
+            return new JsSuccess<>(((JsNumber) value).doubleValue());
         }
-        return new JsError<>(new IllegalAccessError("Not a JsNumber"));
+        return new JsError<>(JsonTypeError.of(JsKind.NUMBER, value));
     };
     public static final Reader<Long> LONG_READER = value -> {
-        if (value.is(JsNumber.class)) {
-            return new JsSuccess<>(((JsNumber) value).value.longValue());
+        if (value.kind() == JsKind.NUMBER) {
+            return new JsSuccess<>(((JsNumber) value).longValue());
         }
-        return new JsError<>(new IllegalAccessError("Not a JsNumber"));
+        return new JsError<>(JsonTypeError.of(JsKind.NUMBER, value));
     };
     public static final Reader<Integer> INTEGER_READER = value -> {
-        if (value.is(JsNumber.class)) {
-            return new JsSuccess<>(((JsNumber) value).value.intValue());
+        if (value.kind() == JsKind.NUMBER) {
+            return new JsSuccess<>(((JsNumber) value).intValue());
         }
-        return new JsError<>(new IllegalAccessError("Not a JsNumber"));
+        return new JsError<>(JsonTypeError.of(JsKind.NUMBER, value));
     };
     public static final Reader<BigDecimal> BIGDEC_READER = value -> {
-        if (value.is(JsNumber.class)) {
-            return new JsSuccess<>(((JsNumber) value).value);
+        if (value.kind() == JsKind.NUMBER) {
+            return new JsSuccess<>(((JsNumber) value).value());
         }
-        return new JsError<>(new IllegalAccessError("Not a JsNumber"));
+        return new JsError<>(JsonTypeError.of(JsKind.NUMBER, value));
     };
     public static final Reader<BigInteger> BIGINT_READER = value -> {
-        if (value.is(JsNumber.class)) {
-            return new JsSuccess<>(((JsNumber) value).value.toBigInteger());
+        if (value.kind() == JsKind.NUMBER) {
+            return new JsSuccess<>(((JsNumber) value).bigIntegerValue());
         }
-        return new JsError<>(new IllegalAccessError("Not a JsNumber"));
+        return new JsError<>(JsonTypeError.of(JsKind.NUMBER, value));
     };
     public static final Reader<DateTime> DATETIME_READER = value -> {
-        if (value.is(JsString.class)) {
+        if (value.kind() == JsKind.STRING) {
             try {
                 return new JsSuccess<>(DateTime.parse(value.as(String.class)));
             } catch (Exception e) {
                 return new JsError<>(e);
             }
         }
-        return new JsError<>(new IllegalAccessError("Not a JsString"));
+        return new JsError<>(JsonTypeError.of(JsKind.STRING, value));
     };
     public static final Reader<LocalTime> LOCAL_TIME_READER = value -> {
-        if (value.is(JsString.class)) {
+        if (value.kind() == JsKind.STRING) {
             try {
                 return new JsSuccess<>(LocalTime.from(DateTimeFormatter.ISO_LOCAL_TIME.parse(value.as(String.class))));
             } catch (Exception e) {
                 return new JsError<>(e);
             }
         }
-        return new JsError<>(new IllegalAccessError("Not a JsString"));
+        return new JsError<>(JsonTypeError.of(JsKind.STRING, value));
     };
     public static final Reader<LocalDate> LOCAL_DATE_READER = value -> {
-        if (value.is(JsString.class)) {
+        if (value.kind() == JsKind.STRING) {
             try {
                 return new JsSuccess<>(LocalDate.from(DateTimeFormatter.ISO_LOCAL_DATE.parse(value.as(String.class))));
             } catch (Exception e) {
                 return new JsError<>(e);
             }
         }
-        return new JsError<>(new IllegalAccessError("Not a JsString"));
+        return new JsError<>(JsonTypeError.of(JsKind.STRING, value));
     };
     public static final Reader<LocalDateTime> LOCAL_DATE_TIME_READER = value -> {
-        if (value.is(JsString.class)) {
+        if (value.kind() == JsKind.STRING) {
             try {
                 return new JsSuccess<>(LocalDateTime.from(DateTimeFormatter.ISO_LOCAL_DATE_TIME.parse(value.as(String.class))));
             } catch (Exception e) {
                 return new JsError<>(e);
             }
         }
-        return new JsError<>(new IllegalAccessError("Not a JsString"));
+        return new JsError<>(JsonTypeError.of(JsKind.STRING, value));
     };
     public static final Reader<JsValue> JSVALUE_READER = JsSuccess::new;
     public static final Map<Class<?>, Reader<?>> readers = HashMap.ofEntries(
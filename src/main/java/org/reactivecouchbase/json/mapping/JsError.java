@@ -81,58 +81,52 @@ public class JsError<T> extends JsResult<T> {
 
     @Override
     public <B> JsResult<B> map(Function<T, B> map) {
-        return new JsError<>(errors);
+        return cast();
     }
 
     @Override
     public <B> JsResult<B> flatMap(Function<T, JsResult<B>> map) {
-        return new JsError<>(errors);
+        return cast();
     }
 
+    // an error holds no value, filtering it does not change it
+
     @Override
     public JsResult<T> filter(Function<T, Boolean> predicate) {
-        return new JsError<>(errors);
+        return this;
     }
 
     @Override
     public JsResult<T> filterNot(Function<T, Boolean> predicate) {
-        return new JsError<>(errors);
+        return this;
     }
 
     @Override
     public JsResult<T> filter(Function<T, Boolean> predicate, Seq<Throwable> errs) {
-        JsResult<T> val = this;
-        if (val.isSuccess() && predicate.apply(val.get())) {
-            return new JsError<>(this.errors.appendAll(errs));
-        }
-        return new JsError<T>(this.errors);
+        return this;
     }
 
     @Override
     public JsResult<T> filterNot(Function<T, Boolean> predicate, Seq<Throwable> errs) {
-        JsResult<T> val = this;
-        if (val.isSuccess() && !predicate.apply(val.get())) {
-            return new JsError<>(this.errors.appendAll(errs));
-        }
-        return new JsError<T>(this.errors);
+        return this;
     }
 
     @Override
     public JsResult<T> filter(Function<T, Boolean> predicate, Throwable error) {
-        JsResult<T> val = this;
-        if (val.isSuccess() && predicate.apply(val.get())) {
-            return new JsError<>(this.errors.append(error));
-        }
-        return new JsError<T>(this.errors);
+        return this;
     }
 
     @Override
     public JsResult<T> filterNot(Function<T, Boolean> predicate, Throwable error) {
-        JsResult<T> val = this;
-        if (val.isSuccess() && !predicate.apply(val.get())) {
-            return new JsError<>(this.errors.append(error));
-        }
-        return new JsError<T>(this.errors);
+        return this;
+    }
+
+    /**
+     * @return the same errors as an error of another type, an error holds no value so it does not need to be copied
+     */
+    @SuppressWarnings("unchecked")
+    public <B> JsError<B> cast() {
+        return (JsError<B>) this;
     }
 
     public JsError(Seq<Throwable> errors) {
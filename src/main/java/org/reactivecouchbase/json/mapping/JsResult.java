@@ -4,7 +4,9 @@ import io.vavr.collection.Array;
 import io.vavr.collection.Seq;
 import io.vavr.control.Option;
 
+import java.util.NoSuchElementException;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public abstract class JsResult<T> implements Iterable<T> {
     public abstract T get();
@@ -17,6 +19,16 @@ public abstract class JsResult<T> implements Iterable<T> {
 
     public abstract JsResult<T> getOrElse(JsResult<T> result);
 
+    /**
+     * @return this result if it is a success, else the alternative that is only computed in that case
+     */
+    public JsResult<T> orElse(Supplier<JsResult<T>> alternative) {
+        if (isSuccess()) {
+            return this;
+        }
+        return alternative.get();
+    }
+
     public abstract T getValueOrNull();
 
     public abstract T getValueOrElse(T result);
@@ -52,11 +64,17 @@ public abstract class JsResult<T> implements Iterable<T> {
     public abstract Option<JsSuccess<T>> asSuccess();
 
     public JsError<T> toError() {
-        return asError().get();
+        if (isErrors()) {
+            return (JsError<T>) this;
+        }
+        throw new NoSuchElementException("No value present");
     }
 
     public JsSuccess<T> toSuccess() {
-        return asSuccess().get();
+        if (isSuccess()) {
+            return (JsSuccess<T>) this;
+        }
+        throw new NoSuchElementException("No value present");
     }
 
     public static <T> JsResult<T> error(Throwable t) {
@@ -80,14 +98,14 @@ public abstract class JsResult<T> implements Iterable<T> {
 
     public Option<Throwable> onError() {
         if (isErrors()) {
-            return Option.some(asError().get().firstError());
+            return Option.some(toError().firstError());
         }
         return Option.none();
     }
 
     public Seq<Throwable> onErrors() {
         if (isErrors()) {
-            return asError().get().errors;
+            return toError().errors;
         }
         return Array.empty();
     }
@@ -105,7 +123,7 @@ public abstract class JsResult<T> implements Iterable<T> {
         if (isSuccess()) {
             return get();
         } else {
-            return block.apply(asError().get());
+            return block.apply(toError());
         }
     }
 
@@ -78,7 +78,7 @@ public class JsSuccess<T> extends JsResult<T> {
 
     @Override
     public JsResult<T> getOrElse(JsResult<T> result) {
-        return new JsSuccess<>(value);
+        return this;
     }
 
     @Override
@@ -91,64 +91,54 @@ public class JsSuccess<T> extends JsResult<T> {
         return map.apply(value);
     }
 
+    // a success is immutable, it is returned as is when the value is kept
+
     @Override
     public JsResult<T> filter(final Function<T, Boolean> p) {
-        return this.flatMap(a -> {
-            if (p.apply(a)) {
-                return new JsSuccess<>(a);
-            }
-            return new JsError<>(Array.empty());
-        });
+        if (p.apply(value)) {
+            return this;
+        }
+        return new JsError<>(Array.empty());
     }
 
     @Override
     public JsResult<T> filterNot(final Function<T, Boolean> p) {
-        return this.flatMap(a -> {
-            if (p.apply(a)) {
-                return new JsError<>(Array.empty());
-            }
-            return new JsSuccess<>(a);
-        });
+        if (p.apply(value)) {
+            return new JsError<>(Array.empty());
+        }
+        return this;
     }
 
     @Override
     public JsResult<T> filter(final Function<T, Boolean> predicate, final Seq<Throwable> errors) {
-        return this.flatMap(a -> {
-            if (predicate.apply(a)) {
-                return new JsSuccess<>(a);
-            }
-            return new JsError<>(errors);
-        });
+        if (predicate.apply(value)) {
+            return this;
+        }
+        return new JsError<>(errors);
     }
 
     @Override
     public JsResult<T> filterNot(final Function<T, Boolean> predicate, final Seq<Throwable> errors) {
-        return this.flatMap(a -> {
-            if (predicate.apply(a)) {
-                return new JsError<>(errors);
-            }
-            return new JsSuccess<>(a);
-        });
+        if (predicate.apply(value)) {
+            return new JsError<>(errors);
+        }
+        return this;
     }
 
     @Override
     public JsResult<T> filter(final Function<T, Boolean> predicate, final Throwable error) {
-        return this.flatMap(a -> {
-            if (predicate.apply(a)) {
-                return new JsSuccess<>(a);
-            }
-            return new JsError<>(Array.of(error));
-        });
+        if (predicate.apply(value)) {
+            return this;
+        }
+        return new JsError<>(Array.of(error));
     }
 
     @Override
     public JsResult<T> filterNot(final Function<T, Boolean> predicate, final Throwable error) {
-        return this.flatMap(a -> {
-            if (predicate.apply(a)) {
-                return new JsError<>(Array.of(error));
-            }
-            return new JsSuccess<>(a);
-        });
+        if (predicate.apply(value)) {
+            return new JsError<>(Array.of(error));
+        }
+        return this;
     }
 
     @Override
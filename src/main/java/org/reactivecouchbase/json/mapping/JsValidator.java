@@ -42,7 +42,10 @@ public class JsValidator<T> implements Reader<T> {
 
     @Override
     public JsResult<T> read(JsValue value) {
-        JsResult<T> lastRes = JsResult.error(new RuntimeException("No validators"));
+        if (validators.isEmpty()) {
+            return JsResult.error(new RuntimeException("No validators"));
+        }
+        JsResult<T> lastRes = null;
         Seq<Throwable> throwables = Array.empty();
         for (Reader<T> reader : validators) {
             lastRes = reader.read(value);
@@ -50,7 +53,7 @@ public class JsValidator<T> implements Reader<T> {
                 if (!traverse) {
                     return lastRes;
                 } else {
-                    throwables = throwables.appendAll(lastRes.asError().get().errors);
+                    throwables = throwables.appendAll(lastRes.toError().errors);
                 }
             }
         }
@@ -1,7 +1,5 @@
 package org.reactivecouchbase.json.mapping;
 
-import io.vavr.collection.Array;
-import io.vavr.collection.Seq;
 import org.reactivecouchbase.json.JsValue;
 
 import java.util.function.Function;
@@ -29,41 +27,46 @@ public interface Reader<T> {
         return value -> self.read(value).filterNot(f);
     }
 
+    /**
+     * The alternative is only read when this reader fails.
+     */
     default Reader<T> orElse(final Reader<T> v) {
         final Reader<T> self = this;
-        return value -> self.read(value).getOrElse(v.read(value));
+        return value -> {
+            JsResult<T> res = self.read(value);
+            if (res.isSuccess()) {
+                return res;
+            }
+            return v.read(value);
+        };
     }
 
     default <B extends JsValue> Reader<T> compose(final Reader<B> v) {
         final Reader<T> self = this;
         return value -> {
             JsResult<B> res = v.read(value);
-            for (JsError<B> t : res.asError()) {
-                return new JsError<>(t.errors);
+            if (res.isSuccess()) {
+                return self.read(res.get());
             }
-            for (JsSuccess<B> t : res.asSuccess()) {
-                return self.read(t.get());
-            }
-            throw new IllegalStateException("Should not happen");
+            return ((JsError<B>) res).cast();
         };
     }
 
+    /**
+     * Both readers are read so the errors of both are reported, the result of this reader is returned when both succeed.
+     */
     default Reader<T> and(final Reader<T> v) {
         final Reader<T> self = this;
         return value -> {
             JsResult<T> res1 = self.read(value);
             JsResult<T> res2 = v.read(value);
-            if (res1.isSuccess() && res2.isSuccess()) {
+            if (res2.isSuccess()) {
                 return res1;
             }
-            Seq<Throwable> errors = Array.empty();
-            if (res1.isErrors()) {
-                errors = errors.appendAll(res1.asError().get().errors);
-            }
-            if (res2.isErrors()) {
-                errors = errors.appendAll(res2.asError().get().errors);
+            if (res1.isSuccess()) {
+                return res2;
             }
-            return new JsError<>(errors);
+            return new JsError<>(((JsError<T>) res1).errors.appendAll(((JsError<T>) res2).errors));
         };
     }
 }
\ No newline at end of file
@@ -1,8 +1,22 @@
 package org.reactivecouchbase.json.mapping;
 
+import org.reactivecouchbase.json.JsArray;
+import org.reactivecouchbase.json.JsKind;
+import org.reactivecouchbase.json.JsNumber;
+import org.reactivecouchbase.json.JsString;
+import org.reactivecouchbase.json.exceptions.JsonConstraintError;
+import org.reactivecouchbase.json.exceptions.JsonTypeError;
 import org.reactivecouchbase.json.exceptions.ValidationError;
 
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
 
 public class ReaderConstraints {
 
@@ -10,29 +24,45 @@ public class ReaderConstraints {
     public static final String URL_PATTERN = "^(http|https|ftp)\\://[a-zA-Z0-9\\-\\.]+\\.[a-zA-Z]{2,3}(:[a-zA-Z0-9]*)?/?([a-zA-Z0-9\\-\\._\\?\\,\\'/\\\\\\+&amp;%\\$#\\=~\\!])*$";
     public static final String PHONE_PATTERN = "^([\\+][0-9]{1,3}([ \\.\\-]))?([\\(]{1}[0-9]{2,6}[\\)])?([0-9 \\.\\-/]{3,20})((x|ext|extension)[ ]?[0-9]{1,4})?$";
 
+    private static final Reader<String> EMAIL = matches(Pattern.compile(EMAIL_PATTERN));
+    private static final Reader<String> URL = matches(Pattern.compile(URL_PATTERN));
+    private static final Reader<String> PHONE = matches(Pattern.compile(PHONE_PATTERN));
+
     private ReaderConstraints() {
     }
 
     public static Reader<String> email() {
-        return matches(EMAIL_PATTERN);
+        return EMAIL;
     }
 
     public static Reader<String> url() {
-        return matches(URL_PATTERN);
+        return URL;
     }
 
     public static Reader<String> phone() {
-        return matches(PHONE_PATTERN);
+        return PHONE;
     }
 
+    /**
+     * The pattern is compiled once, when the reader is created.
+     */
     public static Reader<String> matches(final String pattern) {
+        return matches(Pattern.compile(pattern));
+    }
+
+    public static Reader<String> matches(final Pattern pattern) {
+        final String constraint = "does not match pattern '" + pattern.pattern() + "'";
         return value -> {
             try {
-                String str = value.as(String.class);
-                if (str.matches(pattern)) {
+                JsResult<String> res = DefaultReaders.STRING_READER.read(value);
+                if (res.isErrors()) {
+                    return res;
+                }
+                String str = res.get();
+                if (pattern.matcher(str).matches()) {
                     return new JsSuccess<>(str);
                 } else {
-                    return new JsError<>(new ValidationError("'" + str + "' does not match pattern '" + pattern + "'"));
+                    return new JsError<>(new JsonConstraintError(constraint, str));
                 }
             } catch (Exception e) {
                 return new JsError<>(new ValidationError(e.getMessage()));
@@ -41,11 +71,16 @@ public class ReaderConstraints {
     }
 
     public static Reader<Integer> min(final Integer min) {
+        final String constraint = "is below limit '" + min + "'";
         return value -> {
             try {
-                Integer str = value.as(Integer.class);
+                JsResult<Integer> res = DefaultReaders.INTEGER_READER.read(value);
+                if (res.isErrors()) {
+                    return res;
+                }
+                Integer str = res.get();
                 if (str < min) {
-                    return new JsError<>(new ValidationError("'" + str + "' is below limit '" + min + "'"));
+                    return new JsError<>(new JsonConstraintError(constraint, str));
                 } else {
                     return new JsSuccess<>(str);
                 }
@@ -56,11 +91,16 @@ public class ReaderConstraints {
     }
 
     public static Reader<Integer> max(final Integer max) {
+        final String constraint = "is over limit '" + max + "'";
         return value -> {
             try {
-                Integer str = value.as(Integer.class);
+                JsResult<Integer> res = DefaultReaders.INTEGER_READER.read(value);
+                if (res.isErrors()) {
+                    return res;
+                }
+                Integer str = res.get();
                 if (str > max) {
-                    return new JsError<>(new ValidationError("'" + str + "' is over limit '" + max + "'"));
+                    return new JsError<>(new JsonConstraintError(constraint, str));
                 } else {
                     return new JsSuccess<>(str);
                 }
@@ -70,6 +110,200 @@ public class ReaderConstraints {
         };
     }
 
+    public static Reader<Long> minLong(final long min) {
+        return between(min, Long.MAX_VALUE);
+    }
+
+    public static Reader<Long> maxLong(final long max) {
+        return between(Long.MIN_VALUE, max);
+    }
+
+    /**
+     * The bounds are inclusive. The value is compared as a primitive long, like {@link DefaultReaders#LONG_READER} reads it.
+     */
+    public static Reader<Long> between(final long min, final long max) {
+        final String below = "is below limit '" + min + "'";
+        final String over = "is over limit '" + max + "'";
+        return value -> {
+            if (value.kind() != JsKind.NUMBER) {
+                return new JsError<>(JsonTypeError.of(JsKind.NUMBER, value));
+            }
+            long number = ((JsNumber) value).longValue();
+            if (number < min) {
+                return new JsError<>(new JsonConstraintError(below, number));
+            }
+            if (number > max) {
+                return new JsError<>(new JsonConstraintError(over, number));
+            }
+            return new JsSuccess<>(number);
+        };
+    }
+
+    public static Reader<Double> minDouble(final double min) {
+        return between(min, Double.POSITIVE_INFINITY);
+    }
+
+    public static Reader<Double> maxDouble(final double max) {
+        return between(Double.NEGATIVE_INFINITY, max);
+    }
+
+    /**
+     * The bounds are inclusive. The value is compared as a primitive double, like {@link DefaultReaders#DOUBLE_READER} reads it.
+     */
+    public static Reader<Double> between(final double min, final double max) {
+        final String below = "is below limit '" + min + "'";
+        final String over = "is over limit '" + max + "'";
+        return value -> {
+            if (value.kind() != JsKind.NUMBER) {
+                return new JsError<>(JsonTypeError.of(JsKind.NUMBER, value));
+            }
+            double number = ((JsNumber) value).doubleValue();
+            if (number < min) {
+                return new JsError<>(new JsonConstraintError(below, number));
+            }
+            if (number > max) {
+                return new JsError<>(new JsonConstraintError(over, number));
+            }
+            return new JsSuccess<>(number);
+        };
+    }
+
+    public static Reader<BigDecimal> minDecimal(final BigDecimal min) {
+        return between(min, null);
+    }
+
+    public static Reader<BigDecimal> maxDecimal(final BigDecimal max) {
+        return between(null, max);
+    }
+
+    /**
+     * The bounds are inclusive, a null bound is not checked. Integral values are compared without converting them to a
+     * BigDecimal.
+     */
+    public static Reader<BigDecimal> between(final BigDecimal min, final BigDecimal max) {
+        final JsNumber lower = min == null ? null : new JsNumber(min);
+        final JsNumber upper = max == null ? null : new JsNumber(max);
+        final String below = "is below limit '" + min + "'";
+        final String over = "is over limit '" + max + "'";
+        return value -> {
+            if (value.kind() != JsKind.NUMBER) {
+                return new JsError<>(JsonTypeError.of(JsKind.NUMBER, value));
+            }
+            JsNumber number = (JsNumber) value;
+            // the error holds the decimal like the other overloads hold the primitive, not the JsNumber
+            if (lower != null && number.compareTo(lower) < 0) {
+                return new JsError<>(new JsonConstraintError(below, number.value()));
+            }
+            if (upper != null && number.compareTo(upper) > 0) {
+                return new JsError<>(new JsonConstraintError(over, number.value()));
+            }
+            return new JsSuccess<>(number.value());
+        };
+    }
+
+    public static Reader<String> minLength(final int min) {
+        return length(min, Integer.MAX_VALUE);
+    }
+
+    public static Reader<String> maxLength(final int max) {
+        return length(0, max);
+    }
+
+    /**
+     * The bounds are inclusive and count chars, like {@link String#length()}.
+     */
+    public static Reader<String> length(final int min, final int max) {
+        final String shorter = "is shorter than '" + min + "'";
+        final String longer = "is longer than '" + max + "'";
+        return value -> {
+            if (value.kind() != JsKind.STRING) {
+                return new JsError<>(JsonTypeError.of(JsKind.STRING, value));
+            }
+            String str = ((JsString) value).value;
+            if (str.length() < min) {
+                return new JsError<>(new JsonConstraintError(shorter, str));
+            }
+            if (str.length() > max) {
+                return new JsError<>(new JsonConstraintError(longer, str));
+            }
+            return new JsSuccess<>(str);
+        };
+    }
+
+    public static Reader<String> oneOf(final String... values) {
+        return oneOf(Arrays.asList(values));
+    }
+
+    /**
+     * The allowed values are copied in a hash set once, when the reader is created.
+     */
+    public static Reader<String> oneOf(final Collection<String> values) {
+        final Set<String> allowed = new HashSet<>(values);
+        final String constraint = "is not one of " + allowed;
+        return value -> {
+            if (value.kind() != JsKind.STRING) {
+                return new JsError<>(JsonTypeError.of(JsKind.STRING, value));
+            }
+            String str = ((JsString) value).value;
+            if (allowed.contains(str)) {
+                return new JsSuccess<>(str);
+            }
+            return new JsError<>(new JsonConstraintError(constraint, str));
+        };
+    }
+
+    /**
+     * Reads the constant of the enum with the same name as the string value.
+     */
+    public static <E extends Enum<E>> Reader<E> oneOf(final Class<E> enumClass) {
+        final Map<String, E> constants = new HashMap<>();
+        for (E constant : enumClass.getEnumConstants()) {
+            constants.put(constant.name(), constant);
+        }
+        final String constraint = "is not one of " + constants.keySet();
+        return value -> {
+            if (value.kind() != JsKind.STRING) {
+                return new JsError<>(JsonTypeError.of(JsKind.STRING, value));
+            }
+            String str = ((JsString) value).value;
+            E constant = constants.get(str);
+            if (constant != null) {
+                return new JsSuccess<>(constant);
+            }
+            return new JsError<>(new JsonConstraintError(constraint, str));
+        };
+    }
+
+    public static Reader<JsArray> minSize(final int min) {
+        return size(min, Integer.MAX_VALUE);
+    }
+
+    public static Reader<JsArray> maxSize(final int max) {
+        return size(0, max);
+    }
+
+    /**
+     * The bounds on the number of elements of an array are inclusive.
+     */
+    public static Reader<JsArray> size(final int min, final int max) {
+        final String smaller = "has less than '" + min + "' elements";
+        final String bigger = "has more than '" + max + "' elements";
+        return value -> {
+            if (value.kind() != JsKind.ARRAY) {
+                return new JsError<>(JsonTypeError.of(JsKind.ARRAY, value));
+            }
+            JsArray array = (JsArray) value;
+            int size = array.size();
+            if (size < min) {
+                return new JsError<>(new JsonConstraintError(smaller, size));
+            }
+            if (size > max) {
+                return new JsError<>(new JsonConstraintError(bigger, size));
+            }
+            return new JsSuccess<>(array);
+        };
+    }
+
     public static <A> Reader<A> verify(final Predicate<A> p, final Reader<A> reads) {
         return value -> {
             try {
@@ -81,7 +315,7 @@ public class ReaderConstraints {
                     if (p.test(success.get())) {
                         return new JsSuccess<>(success.get());
                     } else {
-                        return new JsError<>(new ValidationError("Doesn't validate the predicate"));
+                        return new JsError<>(new JsonConstraintError("doesn't validate the predicate", success.get()));
                     }
                 }
                 throw new RuntimeException("Can't happen");
@@ -0,0 +1,48 @@
+package org.reactivecouchbase.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.reactivecouchbase.json.Syntax.$;
+
+public class MappedInputStreamTest {
+
+    @Test
+    public void readsDocumentsSplitAcrossChunks() throws Exception {
+        String json = "{\"name\":\"J\u00f6hn Doe\",\"score\":12.625,\"tags\":[\"a\",\"bb\",true,null],\"nested\":{\"id\":1234567}}";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        Path file = Files.createTempFile("json-lib", ".json");
+        try {
+            Files.write(file, bytes);
+            // 1 byte chunks split every token, 11 bytes chunks split the two bytes of the o umlaut
+            for (int chunkSize : new int[] { 1, 2, 7, 11, 16, bytes.length - 1, bytes.length, bytes.length + 1 }) {
+                try (InputStream in = Jackson.mappedInputStream(file, chunkSize)) {
+                    Assertions.assertEquals(Json.parse(json), Json.parse(in), "chunks of " + chunkSize + " bytes");
+                }
+                try (InputStream in = Jackson.mappedInputStream(file, chunkSize)) {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    int b;
+                    while ((b = in.read()) >= 0) {
+                        out.write(b);
+                    }
+                    Assertions.assertArrayEquals(bytes, out.toByteArray(), "chunks of " + chunkSize + " bytes");
+                }
+            }
+            Assertions.assertEquals(Json.obj($("id", 1234567)), Json.parse(file).field("nested"));
+
+            Files.write(file, new byte[0]);
+            try (InputStream in = Jackson.mappedInputStream(file, 4)) {
+                Assertions.assertEquals(-1, in.read());
+                Assertions.assertEquals(-1, in.read(new byte[4], 0, 4));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
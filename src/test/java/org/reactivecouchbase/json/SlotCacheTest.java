@@ -0,0 +1,60 @@
+package org.reactivecouchbase.json;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SlotCacheTest {
+
+    // "Aa" and "BB" have the same String.hashCode, so do all the strings made of them
+    private static final String[] COLLIDING = {
+        "AaAaAa", "AaAaBB", "AaBBAa", "AaBBBB", "BBAaAa", "BBAaBB", "BBBBAa", "BBBBBB"
+    };
+
+    @Test
+    public void collidingKeysStayCached() {
+        Assertions.assertEquals("Aa".hashCode(), "BB".hashCode());
+        // keys of the same bucket alternating in a document don't evict each other
+        SerializedString first = FieldNames.of("Aa");
+        SerializedString second = FieldNames.of("BB");
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertSame(first, FieldNames.of("Aa"));
+            Assertions.assertSame(second, FieldNames.of("BB"));
+        }
+    }
+
+    @Test
+    public void fullBucketsReplaceTheirEntriesInTurn() {
+        SlotCache<String> cache = new SlotCache<>(16);
+        int bucket = cache.bucket(COLLIDING[0].hashCode());
+        for (int i = 0; i < SlotCache.WAYS; i++) {
+            Assertions.assertEquals(bucket, cache.bucket(COLLIDING[i].hashCode()));
+            cache.put(bucket, COLLIDING[i]);
+        }
+        for (int i = 0; i < SlotCache.WAYS; i++) {
+            Assertions.assertSame(COLLIDING[i], find(cache, COLLIDING[i]));
+        }
+        cache.put(bucket, COLLIDING[4]);
+        Assertions.assertNull(find(cache, COLLIDING[0]));
+        cache.put(bucket, COLLIDING[5]);
+        Assertions.assertNull(find(cache, COLLIDING[1]));
+        for (int i = 2; i < 6; i++) {
+            Assertions.assertSame(COLLIDING[i], find(cache, COLLIDING[i]));
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SlotCache<String>(12));
+    }
+
+    private static String find(SlotCache<String> cache, String value) {
+        int bucket = cache.bucket(value.hashCode());
+        for (int slot = bucket; slot < bucket + SlotCache.WAYS; slot++) {
+            String entry = cache.get(slot);
+            if (entry == null) {
+                break;
+            }
+            if (entry.equals(value)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+}
@@ -4,9 +4,22 @@ import io.vavr.control.Option;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.reactivecouchbase.json.*;
+import org.reactivecouchbase.json.exceptions.JsonConstraintError;
+import org.reactivecouchbase.json.exceptions.JsonReadError;
+import org.reactivecouchbase.json.exceptions.JsonTypeError;
+import org.reactivecouchbase.json.exceptions.ValidationError;
 import org.reactivecouchbase.json.mapping.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringReader;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import static org.reactivecouchbase.json.Syntax.*;
 import static org.reactivecouchbase.json.mapping.ReaderConstraints.*;
@@ -612,6 +625,850 @@ public class JsonTest {
         Assertions.assertFalse(personJsValue.fieldAsOpt("workingAdress").isDefined());
     }
 
+    @Test
+    public void parseLargeDocumentsTest() {
+        StringBuilder builder = new StringBuilder("[");
+        JsArray expected = Json.arr();
+        for (int i = 0; i < 10000; i++) {
+            if (i > 0) {
+                builder.append(",");
+            }
+            builder.append("{\"id\":").append(i).append(",\"name\":\"name-").append(i).append("\"}");
+            expected = expected.addElement(Json.obj($("id", i), $("name", "name-" + i)));
+        }
+        builder.append("]");
+        JsArray parsed = Json.parse(builder.toString()).asArray();
+        Assertions.assertEquals(10000, parsed.size());
+        Assertions.assertEquals(expected, parsed);
+        Assertions.assertEquals(Json.obj($("key", 2)), Json.parse("{\"key\":1,\"key\":2}"));
+    }
+
+    @Test
+    public void stringifyEscapingTest() {
+        String tricky = "quote \" backslash \\ slash / tab \t newline \n cr \r bell \u0007 unicode \u00e9\u4e2d";
+        JsObject object = Json.obj(
+                $("key", tricky),
+                $("ke\"y\n", Json.arr(tricky, 1, true, nill())),
+                $("nested", Json.obj($("empty", ""), $("arr", Json.arr())))
+        );
+        Assertions.assertEquals(Jackson.generateFromJsValue(object), Json.stringify(object));
+        Assertions.assertEquals(object, Json.parse(Json.stringify(object)));
+        Assertions.assertEquals("[\"a\",1]", Json.stringify(Json.arr("a", 1), new StringBuilder()).toString());
+    }
+
+    @Test
+    public void parseFromBytesTest() throws Exception {
+        JsObject expected = Json.obj($("name", "J\u00e9r\u00f4me"), $("tags", Json.arr("a", "b")), $("age", 42));
+        byte[] bytes = Json.stringify(expected).getBytes(StandardCharsets.UTF_8);
+        byte[] padded = new byte[bytes.length + 4];
+        System.arraycopy(bytes, 0, padded, 2, bytes.length);
+
+        Assertions.assertEquals(expected, Json.parse(bytes));
+        Assertions.assertEquals(expected, Json.parse(padded, 2, bytes.length));
+        Assertions.assertEquals(expected, Json.parse(new ByteArrayInputStream(bytes)));
+        Assertions.assertEquals(expected, Json.parse(new StringReader(Json.stringify(expected))));
+
+        ByteBuffer heap = ByteBuffer.wrap(padded, 2, bytes.length);
+        Assertions.assertEquals(expected, Json.parse(heap));
+        Assertions.assertEquals(2, heap.position());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(padded.length);
+        direct.put(padded);
+        direct.position(2);
+        direct.limit(2 + bytes.length);
+        Assertions.assertEquals(expected, Json.parse(direct.slice()));
+        Assertions.assertEquals(expected, Json.parse(direct));
+        Assertions.assertEquals(2, direct.position());
+    }
+
+    @Test
+    public void writeBytesTest() throws Exception {
+        JsObject value = Json.obj($("name", "J\u00e9r\u00f4me"), $("tags", Json.arr("a", "b")), $("age", 42));
+        byte[] expected = Jackson.generateFromJsValue(value).getBytes(StandardCharsets.UTF_8);
+
+        Assertions.assertArrayEquals(expected, Json.toBytes(value));
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        Json.writeTo(value, stream);
+        Json.writeTo(value, stream);
+        Assertions.assertEquals(new String(expected, StandardCharsets.UTF_8) + new String(expected, StandardCharsets.UTF_8), new String(stream.toByteArray(), StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream channelStream = new ByteArrayOutputStream();
+        Json.writeTo(value, Channels.newChannel(channelStream));
+        Assertions.assertArrayEquals(expected, channelStream.toByteArray());
+        Assertions.assertEquals(value, Json.parse(channelStream.toByteArray()));
+    }
+
+    @Test
+    public void numberRepresentationsTest() {
+        JsNumber fromLong = number(2L);
+        JsNumber fromDouble = number(2.0);
+        JsNumber fromDecimal = number(new BigDecimal("2.00"));
+        Assertions.assertEquals(fromLong, fromDouble);
+        Assertions.assertEquals(fromLong, fromDecimal);
+        Assertions.assertEquals(fromDouble, fromDecimal);
+        Assertions.assertEquals(fromLong.hashCode(), fromDouble.hashCode());
+        Assertions.assertEquals(fromLong.hashCode(), fromDecimal.hashCode());
+        Assertions.assertEquals(number(2.5), number(new BigDecimal("2.50")));
+        Assertions.assertEquals(number(2.5).hashCode(), number(new BigDecimal("2.50")).hashCode());
+        Assertions.assertEquals(number(0.0), number(-0.0));
+        Assertions.assertNotEquals(number(2.5), number(2L));
+        Assertions.assertEquals(0, number(Long.MAX_VALUE).compareTo(number(new BigDecimal(Long.MAX_VALUE))));
+        Assertions.assertTrue(number(1.5).compareTo(number(2L)) < 0);
+        Assertions.assertTrue(number(new BigDecimal("1e40")).compareTo(number(Long.MAX_VALUE)) > 0);
+
+        JsValue parsed = Json.parse("{\"int\":42,\"long\":12345678901234,\"big\":123456789012345678901234567890,\"double\":2.3,\"precise\":0.12345678901234567890,\"exp\":1.5e3}");
+        Assertions.assertTrue(parsed.field("int").as(JsNumber.class).isLong());
+        Assertions.assertTrue(parsed.field("double").as(JsNumber.class).isDouble());
+        Assertions.assertFalse(parsed.field("precise").as(JsNumber.class).isDouble());
+        Assertions.assertEquals(Integer.valueOf(42), parsed.integer("int"));
+        Assertions.assertEquals(Long.valueOf(12345678901234L), parsed.lng("long"));
+        Assertions.assertEquals(new BigDecimal("123456789012345678901234567890"), parsed.bigDecimal("big"));
+        Assertions.assertEquals(Double.valueOf(2.3), parsed.dbl("double"));
+        Assertions.assertEquals(new BigDecimal("0.12345678901234567890"), parsed.bigDecimal("precise"));
+        Assertions.assertEquals(number(1500L), parsed.field("exp"));
+        Assertions.assertEquals(Json.obj($("double", 2.3)), Json.obj($("double", parsed.field("double"))));
+
+        JsArray doubles = JsArray.builder().add(number(42)).add(number(2.3)).add(number(0.00001)).add(number(1e20)).add(number(2.0)).build();
+        Assertions.assertEquals("[42,2.3,0.00001,100000000000000000000,2.0]", Json.stringify(doubles));
+        Assertions.assertEquals("[42,2.3,0.00001,1E+20,2]", Jackson.generateFromJsValue(doubles));
+        // parsed decimals are written as they were read
+        String decimals = "[1.50,10000000.0,0.00001,2.0,-0.5,0.0,1234567.125]";
+        Assertions.assertEquals(decimals, Json.stringify(Json.parse(decimals)));
+        Assertions.assertEquals(decimals, Json.stringify(Json.lazyParse(decimals.getBytes(StandardCharsets.UTF_8))));
+        Assertions.assertFalse(Json.parse("1.50").as(JsNumber.class).isDouble());
+        Assertions.assertTrue(Json.parse("-0.5").as(JsNumber.class).isDouble());
+        Assertions.assertEquals("[42,2.3,0.00001,1E+20,2]", Jackson.generateFromJsValue(Json.arr(42, 2.3, 0.00001, 1e20, 2.0)));
+    }
+
+    @Test
+    public void querySelectorTest() {
+        JsObject value = Json.obj(
+                $("name", "John"),
+                $("addresses", Json.arr(
+                        Json.obj($("city", "London"), $("zip", Json.arr(1, 2))),
+                        Json.obj($("city", "Paris"))
+                )),
+                $("matrix", Json.arr(Json.arr(1, 2), Json.arr(3, 4)))
+        );
+        Assertions.assertEquals(string("John"), value.querySelector("name"));
+        Assertions.assertEquals(string("London"), value.querySelector("addresses[0].city"));
+        Assertions.assertEquals(string("Paris"), value.querySelector("addresses[1].city"));
+        Assertions.assertEquals(number(2), value.querySelector("addresses[0].zip[1]"));
+        Assertions.assertEquals(number(4), value.querySelector("matrix[1][1]"));
+        Assertions.assertEquals(string("London"), value.querySelector("addresses").querySelector("[0].city"));
+        Assertions.assertEquals(undefined(), value.querySelector("addresses[5].city"));
+        Assertions.assertEquals(undefined(), value.querySelector("unknown.city"));
+        Assertions.assertTrue(value.querySelectorOpt("addresses[0].city").isDefined());
+        Assertions.assertFalse(value.querySelectorOpt("name[0]").isDefined());
+        Assertions.assertFalse(value.querySelectorOpt("unknown[0]").isDefined());
+        Assertions.assertFalse(string("John").querySelectorOpt("name").isDefined());
+
+        JsPath path = JsPath.compile("addresses[1].city");
+        Assertions.assertEquals(string("Paris"), value.querySelector(path));
+        Assertions.assertEquals(string("Paris"), path.select(value));
+        Assertions.assertSame(JsPath.of("addresses[1].city"), JsPath.of("addresses[1].city"));
+        Assertions.assertEquals(path, JsPath.of("addresses[1].city"));
+        // the cache keeps accepting new queries once it has seen more queries than it has slots
+        for (int i = 0; i < 10000; i++) {
+            JsPath.of("generated" + i);
+        }
+        Assertions.assertSame(JsPath.of("addresses[2].zip"), JsPath.of("addresses[2].zip"));
+        // queries with the same hash don't evict each other
+        Assertions.assertEquals("Aa".hashCode(), "BB".hashCode());
+        JsPath first = JsPath.of("Aa");
+        JsPath second = JsPath.of("BB");
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertSame(first, JsPath.of("Aa"));
+            Assertions.assertSame(second, JsPath.of("BB"));
+        }
+        Assertions.assertEquals(undefined(), value.querySelector((String) null));
+        Assertions.assertEquals(Option.none(), value.querySelectorOpt((String) null));
+        Assertions.assertEquals(undefined(), Json.arr(1).querySelector((String) null));
+    }
+
+    @Test
+    public void objectFieldsOrderTest() {
+        String json = "{\"z\":1,\"a\":2,\"m\":{\"y\":true,\"b\":null},\"z\":3}";
+        JsObject value = Json.parse(json).asObject();
+        Assertions.assertEquals("{\"z\":3,\"a\":2,\"m\":{\"y\":true,\"b\":null}}", Json.stringify(value));
+        Assertions.assertEquals(number(3), value.field("z"));
+        Assertions.assertEquals(undefined(), value.field("unknown"));
+
+        JsObject updated = value.with("a", 4).with("c", 5).remove("z");
+        Assertions.assertEquals("{\"a\":4,\"m\":{\"y\":true,\"b\":null},\"c\":5}", Json.stringify(updated));
+        Assertions.assertEquals("{\"a\":4,\"m\":{\"y\":true,\"b\":null},\"c\":5}", new String(Json.toBytes(updated), StandardCharsets.UTF_8));
+
+        JsObject same = new JsObject(io.vavr.collection.HashMap.of("m", value.field("m"), "c", number(5), "a", number(4)));
+        Assertions.assertEquals(same, updated);
+        Assertions.assertEquals(updated, same);
+        Assertions.assertEquals(same.hashCode(), updated.hashCode());
+
+        JsObject merged = Json.obj($("a", 1), $("b", Json.obj($("x", 1)))).deepMerge(Json.obj($("c", 3), $("b", Json.obj($("y", 2)))));
+        Assertions.assertEquals("{\"a\":1,\"b\":{\"x\":1,\"y\":2},\"c\":3}", Json.stringify(merged));
+
+        JsObject large = Json.obj();
+        for (int i = 0; i < 40; i++) {
+            large = large.with("field" + i, i);
+        }
+        Assertions.assertEquals(40, large.size());
+        Assertions.assertEquals(number(17), large.field("field17"));
+        Assertions.assertTrue(Json.stringify(large).startsWith("{\"field0\":0,\"field1\":1,\"field2\":2,"));
+        Assertions.assertEquals(large, Json.parse(Json.stringify(large)));
+    }
+
+    @Test
+    public void builderTest() {
+        JsObject.Builder builder = JsObject.builder(4)
+                .put("name", "John")
+                .put("age", 42)
+                .put("score", 1.5)
+                .put("admin", false)
+                .putNull("address")
+                .put("tags", JsArray.builder().add("a").add(2).add(true).addNull().build())
+                .put("age", 43);
+        Assertions.assertEquals(7, builder.size());
+        JsObject value = builder.build();
+        Assertions.assertEquals("{\"name\":\"John\",\"age\":43,\"score\":1.5,\"admin\":false,\"address\":null,\"tags\":[\"a\",2,true,null]}", Json.stringify(value));
+        Assertions.assertEquals(Json.obj(
+                $("name", "John"),
+                $("age", 43),
+                $("score", 1.5),
+                $("admin", false),
+                $("address", nill()),
+                $("tags", Json.arr("a", 2, true, nill()))
+        ), value);
+        Assertions.assertThrows(IllegalStateException.class, () -> builder.put("other", 1));
+        Assertions.assertThrows(IllegalStateException.class, builder::build);
+
+        JsObject.Builder large = JsObject.builder();
+        JsArray.Builder elements = JsArray.builder(0);
+        for (int i = 0; i < 100; i++) {
+            large.put("field" + (i % 50), i);
+            elements.add(i);
+        }
+        JsObject largeValue = large.build();
+        Assertions.assertEquals(50, largeValue.size());
+        Assertions.assertEquals(number(99), largeValue.field("field49"));
+        Assertions.assertEquals(100, elements.build().size());
+        Assertions.assertEquals(Json.obj($("a", 1), $("b", 2)), JsObject.builder().putAll(Json.obj($("a", 1))).putAll(null).put("b", 2).build());
+    }
+
+    @Test
+    public void lazyParseTest() {
+        String json = "{ \"type\" : \"user\", \"id\":-42, \"score\":1.50, \"tags\":[\"a\", {\"b\":[1,2]}, null],\n"
+                + "\"na\\\"me\":\"J\\u00f6hn\", \"nested\":{\"deep\":{\"value\":true}}, \"id\":43, \"big\":123456789012345678901 }";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        JsValue lazy = Json.lazyParse(bytes);
+        Assertions.assertEquals(string("user"), lazy.field("type"));
+        Assertions.assertEquals(number(43), lazy.field("id"));
+        Assertions.assertEquals(string("J\u00f6hn"), lazy.field("na\"me"));
+        Assertions.assertEquals(bool(true), lazy.querySelector("nested.deep.value"));
+        Assertions.assertEquals(number(2), lazy.querySelector("tags[1].b[1]"));
+        Assertions.assertEquals(undefined(), lazy.field("unknown"));
+        Assertions.assertEquals(Json.parse(json), lazy);
+        Assertions.assertEquals(lazy, Json.parse(json));
+        Assertions.assertEquals(Json.parse(json).hashCode(), lazy.hashCode());
+
+        // documents with whitespaces are written like parsed ones
+        Assertions.assertEquals(Json.stringify(Json.parse(json)), Json.stringify(lazy));
+        Assertions.assertArrayEquals(Json.toBytes(Json.parse(json)), Json.toBytes(lazy));
+        // untouched compact values are written as they were read
+        String compact = "{\"type\":\"user\",\"score\":1.50,\"exp\":1e3,\"na\\\"me\":\"J\\u00f6hn\",\"tags\":[\"a\",{\"b\":[-0.5,2]},null,false]}";
+        byte[] compactBytes = compact.getBytes(StandardCharsets.UTF_8);
+        JsValue lazyCompact = Json.lazyParse(compactBytes);
+        Assertions.assertEquals(compact, Json.stringify(lazyCompact));
+        Assertions.assertArrayEquals(compactBytes, Json.toBytes(lazyCompact));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Json.writeTo(lazyCompact, out);
+        Assertions.assertArrayEquals(compactBytes, out.toByteArray());
+        Assertions.assertEquals("{\"deep\":{\"value\":true}}", Json.stringify(lazy.field("nested")));
+        Assertions.assertEquals(Json.prettyPrint(Json.parse(json)), Json.prettyPrint(lazy));
+
+        JsObject updated = lazy.asObject().with("id", 44).remove("tags");
+        Assertions.assertEquals(Json.parse(json).asObject().with("id", 44).remove("tags"), updated);
+        Assertions.assertTrue(Json.stringify(updated).startsWith("{\"type\":\"user\",\"id\":44,\"score\":1.50,\"na\\\"me\":\"J\u00f6hn\""));
+
+        Assertions.assertEquals(Json.arr(1, "a", nill()), Json.lazyParse(" [1, \"a\", null] ".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertEquals(number(12), Json.lazyParse("12".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertEquals(Json.obj(), Json.lazyParse("{}".getBytes(StandardCharsets.UTF_8)));
+
+        StringBuilder large = new StringBuilder("{");
+        for (int i = 0; i < 40; i++) {
+            large.append(i == 0 ? "" : ",").append("\"field").append(i % 30).append("\":").append(i);
+        }
+        JsValue lazyLarge = Json.lazyParse(large.append("}").toString().getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals(30, lazyLarge.asObject().size());
+        Assertions.assertEquals(number(35), lazyLarge.field("field5"));
+        Assertions.assertEquals(Json.parse(large.toString()), lazyLarge);
+
+        Assertions.assertThrows(RuntimeException.class, () -> Json.lazyParse("{\"a\":1".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertThrows(RuntimeException.class, () -> Json.lazyParse("{\"a\" 1}".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertThrows(RuntimeException.class, () -> Json.lazyParse("[1,]".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertThrows(RuntimeException.class, () -> Json.lazyParse("1 2".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertThrows(RuntimeException.class, () -> Json.lazyParse("  ".getBytes(StandardCharsets.UTF_8)));
+        // malformed values are only detected when accessed
+        JsValue malformed = Json.lazyParse("{\"a\":1,\"b\":tru}".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals(number(1), malformed.field("a"));
+        Assertions.assertThrows(RuntimeException.class, () -> malformed.field("b"));
+        // and when it is written
+        Assertions.assertThrows(RuntimeException.class, () -> Json.stringify(Json.lazyParse("{\"a\":1,\"b\":tru}".getBytes(StandardCharsets.UTF_8))));
+        Assertions.assertThrows(RuntimeException.class, () -> Json.toBytes(Json.lazyParse("[1,\"\\x\"]".getBytes(StandardCharsets.UTF_8))));
+        Assertions.assertThrows(RuntimeException.class, () -> Json.lazyParse("[1}".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertThrows(RuntimeException.class, () -> Json.lazyParse("{\"a\":[1}}".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertThrows(RuntimeException.class, () -> Json.lazyParse("[{\"a\":1]]".getBytes(StandardCharsets.UTF_8)));
+        StringBuilder deep = new StringBuilder();
+        for (int i = 0; i < 150; i++) {
+            deep.append(i % 3 == 0 ? "{\"a\":" : "[");
+        }
+        deep.append("1");
+        for (int i = 149; i >= 0; i--) {
+            deep.append(i % 3 == 0 ? "}" : "]");
+        }
+        Assertions.assertEquals(Json.parse(deep.toString()), Json.lazyParse(deep.toString().getBytes(StandardCharsets.UTF_8)));
+        String mismatched = deep.toString().replace("1]]}", "1]}}");
+        Assertions.assertThrows(RuntimeException.class, () -> Json.lazyParse(mismatched.getBytes(StandardCharsets.UTF_8)));
+        JsValue malformedElement = Json.lazyParse("[1, tru, 3]".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals(3, malformedElement.asArray().size());
+        Assertions.assertEquals(number(3), malformedElement.asArray().get(2));
+        Assertions.assertThrows(RuntimeException.class, () -> malformedElement.asArray().get(1));
+    }
+
+    @Test
+    public void lazyParseSerializationTest() throws Exception {
+        String json = "{\"a\":1,\"b\":[true,{\"c\":\"d\"},null],\"e\":{\"f\":1.5}}";
+        JsValue lazy = Json.lazyParse(json.getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals(number(1), lazy.field("a"));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(lazy);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            Object read = in.readObject();
+            Assertions.assertEquals(Json.parse(json), read);
+            Assertions.assertEquals(lazy, read);
+            Assertions.assertEquals(JsObject.class, read.getClass());
+        }
+    }
+
+    @Test
+    public void lazyParseLargeObjectTest() throws Exception {
+        JsObject.Builder fields = JsObject.builder();
+        for (int i = 0; i < 100; i++) {
+            fields.put("field" + i, i);
+        }
+        JsObject expected = fields.build();
+        JsValue lazy = Json.lazyParse(Json.toBytes(expected));
+        for (int i = 99; i >= 0; i--) {
+            Assertions.assertEquals(number(i), lazy.field("field" + i));
+        }
+        Assertions.assertEquals(undefined(), lazy.field("field100"));
+        Assertions.assertFalse(lazy.asObject().exists("unknown"));
+        Assertions.assertEquals(expected, lazy);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(lazy);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            Assertions.assertEquals(expected, in.readObject());
+        }
+    }
+
+    public static class Envelope {
+        public JsObject meta;
+        public JsArray tags;
+        public String name;
+    }
+
+    @Test
+    public void jsonLinesTest() {
+        String lines = "{\"id\":1,\"tags\":[1,2]}\n{\"id\":2}\n\n[3, 4]\n\"five\" 6\n";
+        java.util.List<JsValue> values;
+        try (java.util.stream.Stream<JsValue> stream = Json.lines(new ByteArrayInputStream(lines.getBytes(StandardCharsets.UTF_8)))) {
+            values = stream.collect(java.util.stream.Collectors.toList());
+        }
+        Assertions.assertEquals(java.util.Arrays.asList(
+                Json.obj($("id", 1), $("tags", Json.arr(1, 2))),
+                Json.obj($("id", 2)),
+                Json.arr(3, 4),
+                string("five"),
+                number(6)
+        ), values);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Json.writeLines(values.stream(), out);
+        Assertions.assertEquals("{\"id\":1,\"tags\":[1,2]}\n{\"id\":2}\n[3,4]\n\"five\"\n6\n", new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        long count = Json.lines(new ByteArrayInputStream(new byte[0])).count();
+        Assertions.assertEquals(0L, count);
+        Assertions.assertThrows(RuntimeException.class, () -> Json.lines(new ByteArrayInputStream("{\"id\":1}\n{\"id\"".getBytes(StandardCharsets.UTF_8))).count());
+
+        // json values nested in beans are read without going past their last token
+        Envelope envelope = Json.fromJson(Json.parse("{\"meta\":{\"a\":{\"b\":1}},\"tags\":[1,[2]],\"name\":\"env\"}"), Json.reads(Envelope.class)).get();
+        Assertions.assertEquals(Json.obj($("a", Json.obj($("b", 1)))), envelope.meta);
+        Assertions.assertEquals(Json.arr(1, Json.arr(2)), envelope.tags);
+        Assertions.assertEquals("env", envelope.name);
+    }
+
+    private static java.util.List<JsValue> streamArray(String json, String query) {
+        ByteArrayInputStream in = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+        try (java.util.stream.Stream<JsValue> elements = query == null ? Json.streamArray(in) : Json.streamArray(in, query)) {
+            return elements.collect(java.util.stream.Collectors.toList());
+        }
+    }
+
+    @Test
+    public void streamArrayTest() {
+        Assertions.assertEquals(java.util.Arrays.asList(number(1), Json.obj($("a", Json.arr(2))), string("3"), nill()), streamArray(" [1, {\"a\":[2]}, \"3\", null] ", null));
+        Assertions.assertEquals(java.util.Collections.emptyList(), streamArray("[]", null));
+        Assertions.assertEquals(java.util.Collections.emptyList(), streamArray("{\"a\":1}", null));
+
+        String json = "{\"total\":2,\"meta\":{\"results\":[0]},\"results\":[{\"id\":1},{\"id\":2}],\"pages\":[[1,2],{\"items\":[\"a\",\"b\"]}]}";
+        Assertions.assertEquals(java.util.Arrays.asList(Json.obj($("id", 1)), Json.obj($("id", 2))), streamArray(json, "results"));
+        Assertions.assertEquals(java.util.Arrays.asList(number(0)), streamArray(json, "meta.results"));
+        Assertions.assertEquals(java.util.Arrays.asList(number(1), number(2)), streamArray(json, "pages[0]"));
+        Assertions.assertEquals(java.util.Arrays.asList(string("a"), string("b")), streamArray(json, "pages[1].items"));
+        Assertions.assertEquals(java.util.Collections.emptyList(), streamArray(json, "total"));
+        Assertions.assertEquals(java.util.Collections.emptyList(), streamArray(json, "unknown"));
+        Assertions.assertEquals(java.util.Collections.emptyList(), streamArray(json, "pages[2]"));
+        Assertions.assertEquals(java.util.Collections.emptyList(), streamArray(json, "results.id"));
+
+        // elements are read as they are consumed, the broken tail is never reached
+        ByteArrayInputStream in = new ByteArrayInputStream("{\"results\":[{\"id\":1},{\"id\":2},{\"id\"".getBytes(StandardCharsets.UTF_8));
+        java.util.Iterator<JsValue> elements = Json.streamArray(in, "results").iterator();
+        Assertions.assertEquals(Json.obj($("id", 1)), elements.next());
+        Assertions.assertEquals(Json.obj($("id", 2)), elements.next());
+        Assertions.assertThrows(RuntimeException.class, elements::hasNext);
+    }
+
+    @Test
+    public void parseFileTest() throws Exception {
+        java.nio.file.Path file = java.nio.file.Files.createTempFile("json-lib", ".json");
+        try {
+            JsArray users = Json.arr(
+                    Json.obj($("id", 1), $("name", "J\u00f6hn")),
+                    Json.obj($("id", 2), $("name", "Jane"))
+            );
+            java.nio.file.Files.write(file, Json.toBytes(users));
+            Assertions.assertEquals(users, Json.parse(file));
+
+            java.util.List<JsValue> elements = new java.util.ArrayList<>();
+            Json.forEachElement(file, elements::add);
+            Assertions.assertEquals(users.values.toJavaList(), elements);
+
+            java.nio.file.Files.write(file, new byte[0]);
+            Assertions.assertThrows(RuntimeException.class, () -> Json.parse(file));
+        } finally {
+            java.nio.file.Files.delete(file);
+        }
+        Assertions.assertThrows(RuntimeException.class, () -> Json.parse(file));
+    }
+
+    @Test
+    public void fingerprintTest() {
+        String json = "{\"id\":42,\"name\":\"John\",\"score\":1.5,\"tags\":[\"a\",null,true,false],\"big\":123456789012345678901234567890,\"nested\":{\"x\":-0.001}}";
+        JsValue value = Json.parse(json);
+        // fingerprints are shared between processes, they must never change
+        Assertions.assertEquals(0x95cade5a51511f2fL, value.fingerprint());
+        Assertions.assertEquals(value.fingerprint(), Json.lazyParse(json.getBytes(StandardCharsets.UTF_8)).fingerprint());
+        Assertions.assertEquals(value.hashCode(), value.hashCode());
+        Assertions.assertEquals(value.hashCode(), Json.parse(json).hashCode());
+
+        JsObject reordered = Json.obj(
+                $("nested", Json.obj($("x", new BigDecimal("-0.00100")))),
+                $("big", new BigDecimal("123456789012345678901234567890")),
+                $("tags", Json.arr("a", nill(), true, false)),
+                $("score", new BigDecimal("1.50")),
+                $("name", "John"),
+                $("id", 42.0)
+        );
+        Assertions.assertEquals(value, reordered);
+        Assertions.assertEquals(value.fingerprint(), reordered.fingerprint());
+        Assertions.assertEquals(value.hashCode(), reordered.hashCode());
+
+        Assertions.assertEquals(number(2).fingerprint(), number(2.0).fingerprint());
+        Assertions.assertEquals(number(2).fingerprint(), number(new BigDecimal("2.000")).fingerprint());
+        Assertions.assertNotEquals(number(2).fingerprint(), number(3).fingerprint());
+        Assertions.assertNotEquals(number(2).fingerprint(), string("2").fingerprint());
+        Assertions.assertNotEquals(nill().fingerprint(), undefined().fingerprint());
+        Assertions.assertNotEquals(Json.arr(1, 2).fingerprint(), Json.arr(2, 1).fingerprint());
+        Assertions.assertNotEquals(Json.arr().fingerprint(), Json.obj().fingerprint());
+        Assertions.assertNotEquals(Json.obj($("a", 1)).fingerprint(), Json.obj($("a", 1), $("b", 1)).fingerprint());
+        Assertions.assertNotEquals(Json.obj($("a", 1), $("b", 2)).fingerprint(), Json.obj($("a", 2), $("b", 1)).fingerprint());
+        Assertions.assertNotEquals(Json.arr(Json.arr(1), 2).fingerprint(), Json.arr(1, Json.arr(2)).fingerprint());
+    }
+
+    @Test
+    public void equalityTest() {
+        JsObject small = Json.obj($("a", 1));
+        JsObject bigger = Json.obj($("a", 1), $("b", 2));
+        Assertions.assertFalse(small.deepEquals(bigger));
+        Assertions.assertFalse(bigger.deepEquals(small));
+        Assertions.assertFalse(Json.arr(1).deepEquals(Json.arr(1, 2)));
+        Assertions.assertFalse(Json.arr(1, 2).deepEquals(Json.arr(1)));
+        Assertions.assertFalse(Json.obj($("a", nill())).deepEquals(Json.obj($("b", nill()))));
+
+        String json = "{\"id\":1,\"tags\":[\"a\",{\"b\":[1,2.5,null]}],\"nested\":{\"x\":true,\"y\":\"z\"}}";
+        JsValue value = Json.parse(json);
+        JsValue same = Json.obj(
+                $("nested", Json.obj($("y", "z"), $("x", true))),
+                $("tags", Json.arr("a", Json.obj($("b", Json.arr(1.0, new BigDecimal("2.50"), nill()))))),
+                $("id", 1)
+        );
+        Assertions.assertTrue(value.deepEquals(same));
+        Assertions.assertTrue(same.deepEquals(value));
+        Assertions.assertEquals(value, same);
+        Assertions.assertEquals(value, Json.lazyParse(json.getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertEquals(Json.lazyParse(json.getBytes(StandardCharsets.UTF_8)), value);
+
+        // more fields than the compact map holds
+        JsObject.Builder large = JsObject.builder();
+        JsObject.Builder reversed = JsObject.builder();
+        for (int i = 0; i < 40; i++) {
+            large.put("field" + i, i);
+            reversed.put("field" + (39 - i), 39 - i);
+        }
+        JsObject left = large.build();
+        JsObject right = reversed.build();
+        Assertions.assertEquals(left, right);
+        Assertions.assertEquals(right, left);
+        Assertions.assertNotEquals(left, right.add($("field39", 40)));
+        Assertions.assertNotEquals(left.add($("field0", "0")), right);
+
+        // once computed, hashes end the comparison early but never change the result
+        JsObject changed = Json.obj($("id", 1), $("tags", Json.arr()));
+        value.hashCode();
+        changed.hashCode();
+        Assertions.assertNotEquals(value, changed);
+        same.fingerprint();
+        Assertions.assertEquals(value.hashCode(), same.hashCode());
+        Assertions.assertEquals(value, same);
+    }
+
+    @Test
+    public void serializedFieldNamesTest() {
+        StringBuilder longKey = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            longKey.append('k');
+        }
+        JsObject special = Json.obj(
+                $("quote\"d", 1),
+                $("t\u00e9l\u00e9phone", 2),
+                $("line\nbreak", 3),
+                $(longKey.toString(), 4)
+        );
+        Assertions.assertEquals(special, Json.parse(Json.toBytes(special)));
+        Assertions.assertEquals(special, Json.parse(Json.toBytes(special)));
+        Assertions.assertTrue(new String(Json.toBytes(special), StandardCharsets.UTF_8).contains("\"quote\\\"d\":1"));
+
+        // far more distinct keys than cached names, colliding names are replaced
+        JsObject.Builder many = JsObject.builder();
+        for (int i = 0; i < 5000; i++) {
+            many.put("key" + i, i);
+        }
+        JsObject manyKeys = many.build();
+        Assertions.assertEquals(manyKeys, Json.parse(Json.toBytes(manyKeys)));
+        Assertions.assertEquals(manyKeys, Json.parse(Json.toBytes(manyKeys)));
+    }
+
+    @Test
+    public void sharedKeysTest() {
+        byte[] json = "{\"firstName\":\"John\",\"address\":{\"city\":\"London\"},\"esc\\\"aped\":1}".getBytes(StandardCharsets.UTF_8);
+        JsObject lazy = Json.lazyParse(json).as(JsObject.class);
+        JsObject otherLazy = Json.lazyParse(json).as(JsObject.class);
+        JsObject parsed = Json.parse(json).as(JsObject.class);
+        Assertions.assertSame(lazy.values.keySet().head(), otherLazy.values.keySet().head());
+        Assertions.assertSame(lazy.values.keySet().head(), parsed.values.keySet().head());
+        Assertions.assertSame(lazy.field("address").as(JsObject.class).values.keySet().head(),
+                parsed.field("address").as(JsObject.class).values.keySet().head());
+        Assertions.assertEquals(parsed, lazy);
+        Assertions.assertEquals(Json.obj($("esc\"aped", 1)), Json.lazyParse("{\"esc\\\"aped\":1}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void sharedStringsTest() {
+        // the limit is in chars, the city has 12 chars but 23 UTF-8 bytes
+        String json = "[{\"status\":\"ACTIVE\",\"country\":\"\u00d6sterreich\",\"city\":\"\u00c9\u00e9\u00e8\u00ea\u00eb\u00e0\u00e2\u00e4\u00f4\u00f6\u00fbs\",\"text\":\"a long description of the user\"},"
+                + "{\"status\":\"ACTIVE\",\"country\":\"\u00d6sterreich\",\"city\":\"\u00c9\u00e9\u00e8\u00ea\u00eb\u00e0\u00e2\u00e4\u00f4\u00f6\u00fbs\",\"text\":\"a long description of the user\"}]";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        ParseOptions options = ParseOptions.defaults().shareStrings(12);
+
+        for (JsValue users : Arrays.asList(Json.parse(json, options), Json.parse(bytes, options), Json.lazyParse(bytes, options),
+                Json.parse(new ByteArrayInputStream(bytes), options))) {
+            Assertions.assertEquals(Json.parse(json), users);
+            Assertions.assertSame(users.get(0).field("status"), users.get(1).field("status"));
+            Assertions.assertSame(users.get(0).field("country"), users.get(1).field("country"));
+            Assertions.assertSame(users.get(0).field("city"), users.get(1).field("city"));
+            Assertions.assertNotSame(users.get(0).field("text"), users.get(1).field("text"));
+        }
+        Assertions.assertSame(Json.parse(json, options).get(0).field("status"), Json.lazyParse(bytes, options).get(1).field("status"));
+
+        JsValue notShared = Json.parse(json);
+        Assertions.assertNotSame(notShared.get(0).field("status"), notShared.get(1).field("status"));
+        JsValue lazyNotShared = Json.lazyParse(bytes);
+        Assertions.assertNotSame(lazyNotShared.get(0).field("status"), lazyNotShared.get(1).field("status"));
+        Assertions.assertEquals(0, ParseOptions.defaults().sharedStringsMaxLength());
+        Assertions.assertEquals(ParseOptions.DEFAULT_SHARED_STRINGS_MAX_LENGTH, ParseOptions.defaults().shareStrings().sharedStringsMaxLength());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ParseOptions.defaults().shareStrings(-1));
+    }
+
+    @Test
+    public void sharedInstancesTest() {
+        String json = "{\"ok\":true,\"ko\":false,\"zero\":0,\"one\":-1,\"big\":1024,\"empty\":\"\",\"obj\":{},\"arr\":[]}";
+        for (JsValue value : Arrays.asList(Json.parse(json), Json.lazyParse(json.getBytes(StandardCharsets.UTF_8)))) {
+            Assertions.assertSame(JsBoolean.TRUE, value.field("ok"));
+            Assertions.assertSame(JsBoolean.FALSE, value.field("ko"));
+            Assertions.assertSame(number(0), value.field("zero"));
+            Assertions.assertSame(number(-1), value.field("one"));
+            Assertions.assertNotSame(number(1024), value.field("big"));
+            Assertions.assertEquals(number(1024), value.field("big"));
+            Assertions.assertSame(JsString.EMPTY, value.field("empty"));
+            Assertions.assertSame(JsObject.EMPTY, value.field("obj"));
+            Assertions.assertSame(JsArray.EMPTY, value.field("arr"));
+            Assertions.assertEquals(json, Json.stringify(value));
+        }
+        Assertions.assertSame(JsBoolean.TRUE, bool(true));
+        Assertions.assertSame(number(42), Json.obj($("n", 42)).field("n"));
+        Assertions.assertSame(JsObject.EMPTY, Json.obj());
+        Assertions.assertSame(JsArray.EMPTY, JsArray.builder().build());
+        Assertions.assertSame(JsString.EMPTY, string(null));
+        Assertions.assertEquals(Json.obj($("a", 1)), Json.obj().add($("a", 1)));
+        Assertions.assertEquals(Json.obj(), Json.obj());
+        Assertions.assertEquals("{}", Json.stringify(Json.obj()));
+    }
+
+    public static class Account {
+        private String login;
+        private boolean active;
+        public long balance;
+        public Double rate;
+        public JsObject settings;
+
+        public String getLogin() {
+            return login;
+        }
+
+        public void setLogin(String login) {
+            this.login = login;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public String getDisplayName() {
+            return "@" + login;
+        }
+    }
+
+    @Test
+    public void pojoBindingTest() {
+        Account account = new Account();
+        account.setLogin("jdoe");
+        account.setActive(true);
+        account.balance = 1234567890123L;
+        account.settings = Json.obj($("theme", "dark"));
+        JsValue json = Json.toJson(account);
+        // same names and order as Jackson
+        Assertions.assertEquals("{\"login\":\"jdoe\",\"active\":true,\"balance\":1234567890123,\"rate\":null,\"settings\":{\"theme\":\"dark\"},\"displayName\":\"@jdoe\"}",
+                Json.stringify(json));
+        Assertions.assertEquals(Json.stringify(Jackson.jsonNodeToJsValue(Jackson.toJson(account))), Json.stringify(json));
+        Assertions.assertEquals(json, Json.writes(Account.class).write(account));
+
+        Account read = Json.reads(Account.class).read(Json.parse(
+                "{\"login\":\"jane\",\"active\":true,\"balance\":12,\"rate\":1.5,\"settings\":{\"a\":[1]},\"displayName\":\"ignored\",\"other\":1}")).get();
+        Assertions.assertEquals("jane", read.getLogin());
+        Assertions.assertTrue(read.isActive());
+        Assertions.assertEquals(12L, read.balance);
+        Assertions.assertEquals(Double.valueOf(1.5), read.rate);
+        Assertions.assertEquals(Json.obj($("a", Json.arr(1))), read.settings);
+
+        // coercions are left to Jackson
+        Account coerced = Json.reads(Account.class).read(Json.obj($("balance", "42"), $("rate", "2"), $("active", nill()))).get();
+        Assertions.assertEquals(42L, coerced.balance);
+        Assertions.assertEquals(Double.valueOf(2), coerced.rate);
+        Assertions.assertFalse(coerced.isActive());
+        Assertions.assertTrue(Json.reads(Account.class).read(Json.obj($("balance", "lots"))).isErrors());
+        Assertions.assertTrue(Json.reads(Account.class).read(Json.arr(1)).isErrors());
+
+        // beans with other property types still go through Jackson
+        Team team = Json.reads(Team.class).read(Json.obj($("name", "core"), $("members", Json.arr("jane", "john")))).get();
+        Assertions.assertEquals(java.util.Arrays.asList("jane", "john"), team.members);
+        Assertions.assertEquals(Json.obj($("name", "core"), $("members", Json.arr("jane", "john"))), Json.toJson(team));
+    }
+
+    public static class Team {
+        public String name;
+        public java.util.List<String> members;
+    }
+
+    @Test
+    public void readErrorsTest() {
+        JsResult<Integer> notANumber = string("42").read(DefaultReaders.INTEGER_READER);
+        JsonTypeError error = (JsonTypeError) notANumber.asError().get().firstError();
+        Assertions.assertEquals(JsKind.NUMBER, error.expected());
+        Assertions.assertEquals(JsKind.STRING, error.actual());
+        Assertions.assertEquals("", error.path());
+        Assertions.assertEquals("Not a JsNumber but a JsString", error.getMessage());
+        Assertions.assertEquals(0, error.getStackTrace().length);
+        Assertions.assertSame(error, string("43").read(DefaultReaders.LONG_READER).asError().get().firstError());
+
+        JsResult<io.vavr.collection.Seq<String>> items = Json.arr("a", "b", 3).read(DefaultReaders.seq(DefaultReaders.STRING_READER));
+        JsonReadError itemError = (JsonReadError) items.asError().get().firstError();
+        Assertions.assertEquals("[2]", itemError.path());
+        Assertions.assertEquals("Not a JsString but a JsNumber at 'items[2]'", itemError.at("items").getMessage());
+        // nested paths read like query selectors leading to the faulty value
+        JsArray matrix = Json.arr(Json.arr("a"), Json.arr("b", 4));
+        JsonReadError nestedError = (JsonReadError) matrix.read(DefaultReaders.seq(DefaultReaders.seq(DefaultReaders.STRING_READER))).asError().get().firstError();
+        Assertions.assertEquals("[1][1]", nestedError.path());
+        Assertions.assertEquals(number(4), matrix.querySelector(nestedError.path()));
+        Assertions.assertEquals("[0].name", JsonTypeError.of(JsKind.STRING, number(4)).at("name").at(0).path());
+        Assertions.assertEquals("JsObject", JsonReadError.kindOf(Json.parse("{}")));
+        Assertions.assertEquals("Not a JsObject but a JsNull", DefaultReaders.JS_PAIR_READER.read(nill()).asError().get().firstError().getMessage());
+        Assertions.assertTrue(DefaultReaders.JS_PAIR_READER.read(Json.obj()).asError().get().firstError() instanceof JsonConstraintError);
+
+        JsonConstraintError tooYoung = (JsonConstraintError) number(12).read(min(18)).asError().get().firstError();
+        Assertions.assertTrue(tooYoung instanceof ValidationError);
+        Assertions.assertEquals("is below limit '18'", tooYoung.expected());
+        Assertions.assertEquals("12", tooYoung.actual());
+        Assertions.assertEquals("'12' is below limit '18'", tooYoung.getMessage());
+        Assertions.assertEquals(0, tooYoung.getStackTrace().length);
+        Assertions.assertTrue(string("nope").read(email()).asError().get().firstError() instanceof JsonConstraintError);
+        Assertions.assertTrue(number(12).read(email()).asError().get().firstError() instanceof JsonTypeError);
+        Assertions.assertEquals(Integer.valueOf(20), number(20).read(JsValidator.validateWith(Integer.class).and(min(18)).and(max(99))).get());
+    }
+
+    public enum Currency { EUR, USD }
+
+    @Test
+    public void constraintsTest() {
+        Assertions.assertTrue(string("john@doe.com").read(email()).isSuccess());
+        Assertions.assertSame(email(), email());
+        Assertions.assertTrue(string("A-12").read(matches("[A-Z]-[0-9]+")).isSuccess());
+        Assertions.assertTrue(string("a-12").read(matches(java.util.regex.Pattern.compile("[A-Z]-[0-9]+"))).isErrors());
+
+        Assertions.assertEquals(Long.valueOf(5000000000L), number(5000000000L).read(between(0L, 10000000000L)).get());
+        Assertions.assertEquals("'-1' is below limit '0'", number(-1).read(minLong(0)).asError().get().firstError().getMessage());
+        Assertions.assertTrue(number(11).read(maxLong(10)).isErrors());
+        Assertions.assertTrue(number(0.5).read(between(0.0, 1.0)).isSuccess());
+        Assertions.assertTrue(number(1.5).read(maxDouble(1.0)).isErrors());
+        Assertions.assertTrue(number(-0.1).read(minDouble(0.0)).isErrors());
+        Assertions.assertEquals(new BigDecimal("10.25"), number(new BigDecimal("10.25")).read(between(BigDecimal.ZERO, BigDecimal.TEN.add(BigDecimal.ONE))).get());
+        // the three overloads report the number the same way
+        Assertions.assertEquals("'5' is below limit '10'", number(5).read(between(10L, 20L)).asError().get().firstError().getMessage());
+        Assertions.assertEquals("'5' is below limit '10'", number(5).read(between(BigDecimal.TEN, null)).asError().get().firstError().getMessage());
+        Assertions.assertEquals("'2.5' is over limit '2'", number(2.5).read(between(BigDecimal.ZERO, new BigDecimal(2))).asError().get().firstError().getMessage());
+        Assertions.assertEquals("'2.5' is over limit '2.0'", number(2.5).read(between(0.0, 2.0)).asError().get().firstError().getMessage());
+        Assertions.assertTrue(number(12).read(maxDecimal(BigDecimal.TEN)).isErrors());
+        Assertions.assertTrue(number(new BigDecimal("9.99")).read(minDecimal(BigDecimal.TEN)).isErrors());
+        Assertions.assertTrue(string("12").read(minLong(0)).asError().get().firstError() instanceof JsonTypeError);
+
+        Assertions.assertTrue(string("abc").read(length(1, 3)).isSuccess());
+        Assertions.assertEquals("'abcd' is longer than '3'", string("abcd").read(maxLength(3)).asError().get().firstError().getMessage());
+        Assertions.assertTrue(string("").read(minLength(1)).isErrors());
+
+        Assertions.assertTrue(string("EUR").read(oneOf("EUR", "USD")).isSuccess());
+        Assertions.assertTrue(string("GBP").read(oneOf("EUR", "USD")).isErrors());
+        Assertions.assertSame(Currency.USD, string("USD").read(oneOf(Currency.class)).get());
+        Assertions.assertTrue(string("usd").read(oneOf(Currency.class)).isErrors());
+
+        Assertions.assertTrue(Json.arr(1, 2).read(size(1, 2)).isSuccess());
+        Assertions.assertTrue(Json.arr().read(minSize(1)).isErrors());
+        Assertions.assertEquals("'3' has more than '2' elements", Json.arr(1, 2, 3).read(maxSize(2)).asError().get().firstError().getMessage());
+    }
+
+    @Test
+    public void kindTest() {
+        JsValue value = Json.parse("{\"o\":{},\"a\":[],\"s\":\"s\",\"n\":1.5,\"b\":true,\"z\":null}");
+        JsValue lazy = Json.lazyParse(Json.stringify(value).getBytes(StandardCharsets.UTF_8));
+        for (JsValue doc : Arrays.asList(value, lazy)) {
+            Assertions.assertEquals(JsKind.OBJECT, doc.kind());
+            Assertions.assertEquals(JsKind.OBJECT, doc.field("o").kind());
+            Assertions.assertEquals(JsKind.ARRAY, doc.field("a").kind());
+            Assertions.assertEquals(JsKind.STRING, doc.field("s").kind());
+            Assertions.assertEquals(JsKind.NUMBER, doc.field("n").kind());
+            Assertions.assertEquals(JsKind.BOOLEAN, doc.field("b").kind());
+            Assertions.assertEquals(JsKind.NULL, doc.field("z").kind());
+            Assertions.assertEquals(JsKind.UNDEFINED, doc.field("missing").kind());
+        }
+        Assertions.assertEquals(JsKind.OBJECT, $("key", "value").kind());
+        Assertions.assertEquals("JsPair", JsonReadError.kindOf($("key", "value")));
+        Assertions.assertEquals(Json.stringify(value), Json.stringify(Json.fromJsonNode(Json.toJackson(value))));
+    }
+
+    @Test
+    public void primitiveAccessorsTest() {
+        String json = "{\"id\":5000000000,\"age\":42,\"score\":12.5,\"ok\":true,\"name\":\"John\",\"none\":null,\"items\":[1,2.5,false,\"a\"]}";
+        for (JsValue value : Arrays.asList(Json.parse(json), Json.lazyParse(json.getBytes(StandardCharsets.UTF_8)))) {
+            Assertions.assertEquals(5000000000L, value.getLong("id"));
+            Assertions.assertEquals(42, value.getInt("age"));
+            Assertions.assertEquals(12.5, value.getDouble("score"));
+            Assertions.assertTrue(value.getBoolean("ok"));
+            Assertions.assertEquals("John", value.getString("name"));
+            Assertions.assertEquals(-1L, value.getLong("missing", -1L));
+            Assertions.assertEquals(-1, value.getInt("name", -1));
+            Assertions.assertEquals(0.5, value.getDouble("none", 0.5));
+            Assertions.assertFalse(value.getBoolean("missing", false));
+            Assertions.assertEquals("default", value.getString("age", "default"));
+
+            JsValue items = value.field("items");
+            Assertions.assertEquals(1, items.getInt(0));
+            Assertions.assertEquals(2.5, items.getDouble(1, 0.0));
+            Assertions.assertFalse(items.getBoolean(2, true));
+            Assertions.assertEquals("a", items.getString(3));
+            Assertions.assertEquals(7L, items.getLong(4, 7L));
+            Assertions.assertEquals(7L, items.getLong(-1, 7L));
+            Assertions.assertSame(JsUndefined.class, items.get(10).getClass());
+
+            JsonTypeError error = Assertions.assertThrows(JsonTypeError.class, () -> value.getLong("name"));
+            Assertions.assertEquals("Not a JsNumber but a JsString at 'name'", error.getMessage());
+            Assertions.assertTrue(error.getStackTrace().length > 0);
+            Assertions.assertEquals(JsKind.STRING, error.actual());
+            Assertions.assertEquals("[3]", Assertions.assertThrows(JsonTypeError.class, () -> items.getLong(3)).path());
+            Assertions.assertEquals(JsKind.UNDEFINED, Assertions.assertThrows(JsonTypeError.class, () -> value.getString("missing")).actual());
+        }
+        Assertions.assertEquals(3L, string("a").getLong("field", 3L));
+    }
+
+    @Test
+    public void readerCombinatorsTest() {
+        java.util.concurrent.atomic.AtomicInteger reads = new java.util.concurrent.atomic.AtomicInteger();
+        Reader<String> fallback = value -> {
+            reads.incrementAndGet();
+            return new JsSuccess<>("fallback");
+        };
+        Reader<String> reader = DefaultReaders.STRING_READER.orElse(fallback);
+        Assertions.assertEquals("value", string("value").read(reader).get());
+        Assertions.assertEquals(0, reads.get());
+        Assertions.assertEquals("fallback", number(1).read(reader).get());
+        Assertions.assertEquals(1, reads.get());
+        Assertions.assertTrue(number(1).read(DefaultReaders.STRING_READER.orElse(DefaultReaders.JS_OBJECT_READER.map(JsObject::toString))).isErrors());
+
+        JsResult<Integer> success = new JsSuccess<>(20);
+        Assertions.assertSame(success, success.getOrElse(new JsSuccess<>(0)));
+        Assertions.assertSame(success, success.filter(i -> i > 18));
+        Assertions.assertSame(success, success.orElse(() -> { throw new IllegalStateException("Should not be called"); }));
+        JsResult<Integer> error = JsResult.error(new IllegalStateException("KO"));
+        Assertions.assertSame(error, error.filter(i -> i > 18));
+        Assertions.assertSame(((JsError<Integer>) error).errors, ((JsError<String>) error.map(String::valueOf)).errors);
+        Assertions.assertEquals(Integer.valueOf(0), error.orElse(() -> new JsSuccess<>(0)).get());
+
+        JsResult<Integer> both = number(12).read(min(18).and(max(10)));
+        Assertions.assertEquals(2, both.countErrors());
+        Assertions.assertEquals(1, number(15).read(min(18).and(max(20))).countErrors());
+        Assertions.assertEquals(1, number(25).read(min(18).and(max(20))).countErrors());
+        Assertions.assertEquals(Integer.valueOf(19), number(19).read(min(18).and(max(20))).get());
+
+        Reader<String> name = DefaultReaders.STRING_READER.compose(value -> new JsSuccess<>(value.field("name")));
+        Assertions.assertEquals("John", Json.obj($("name", "John")).read(name).get());
+        Assertions.assertTrue(Json.obj($("name", 42)).read(name).isErrors());
+        Assertions.assertTrue(Json.obj().read(DefaultReaders.STRING_READER.compose(DefaultReaders.JS_ARRAY_READER)).isErrors());
+    }
+
     public static class Address {
         public final String number;
         public final String street;